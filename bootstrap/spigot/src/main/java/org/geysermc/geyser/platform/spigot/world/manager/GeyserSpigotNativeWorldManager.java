@@ -54,7 +54,12 @@ public class GeyserSpigotNativeWorldManager extends GeyserSpigotWorldManager {
         if (player == null) {
             return Block.JAVA_AIR_ID;
         }
-        return adapter.getBlockAt(player.getWorld(), x, y, z);
+        return getBlockAt(player.getWorld(), x, y, z);
+    }
+
+    @Override
+    protected int getBlockAt(World world, int x, int y, int z) {
+        return adapter.getBlockAt(world, x, y, z);
     }
 
     @Nullable
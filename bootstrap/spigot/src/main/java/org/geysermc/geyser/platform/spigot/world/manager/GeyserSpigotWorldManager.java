@@ -25,25 +25,35 @@
 
 package org.geysermc.geyser.platform.spigot.world.manager;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.DecoratedPot;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.geysermc.erosion.bukkit.BukkitUtils;
 import org.geysermc.erosion.bukkit.SchedulerUtils;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.level.GameRule;
 import org.geysermc.geyser.level.WorldManager;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -51,6 +61,10 @@ import java.util.function.Consumer;
  */
 public class GeyserSpigotWorldManager extends WorldManager {
     private final Plugin plugin;
+    /**
+     * Bounded by the amount of block states on the server.
+     */
+    private final Map<BlockData, Integer> blockDataToId = new ConcurrentHashMap<>();
 
     public GeyserSpigotWorldManager(Plugin plugin) {
         this.plugin = plugin;
@@ -71,14 +85,101 @@ public class GeyserSpigotWorldManager extends WorldManager {
         return getBlockNetworkId(world.getBlockAt(x, y, z));
     }
 
+    @Override
+    public CompletableFuture<int[]> getBlocksAtAsync(GeyserSession session, Vector3i... positions) {
+        int[] blocks = new int[positions.length];
+        Player bukkitPlayer;
+        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+            Arrays.fill(blocks, org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            return CompletableFuture.completedFuture(blocks);
+        }
+        World world = bukkitPlayer.getWorld();
+        if (!SchedulerUtils.FOLIA) {
+            for (int i = 0; i < positions.length; i++) {
+                Vector3i position = positions[i];
+                blocks[i] = getBlockAt(world, position.getX(), position.getY(), position.getZ());
+            }
+            return CompletableFuture.completedFuture(blocks);
+        }
+
+        // A chunk always belongs to a single region, so schedule one task per chunk rather than one per block
+        Long2ObjectMap<IntList> positionsByChunk = new Long2ObjectOpenHashMap<>();
+        for (int i = 0; i < positions.length; i++) {
+            Vector3i position = positions[i];
+            positionsByChunk.computeIfAbsent(MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4), k -> new IntArrayList()).add(i);
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture[positionsByChunk.size()];
+        int chunk = 0;
+        for (IntList indices : positionsByChunk.values()) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            Runnable lookup = () -> {
+                try {
+                    for (int i = 0; i < indices.size(); i++) {
+                        int index = indices.getInt(i);
+                        Vector3i position = positions[index];
+                        blocks[index] = getBlockAt(world, position.getX(), position.getY(), position.getZ());
+                    }
+                    future.complete(null);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            };
+
+            Vector3i position = positions[indices.getInt(0)];
+            int chunkX = position.getX() >> 4;
+            int chunkZ = position.getZ() >> 4;
+            if (Bukkit.isOwnedByCurrentRegion(world, chunkX, chunkZ)) {
+                lookup.run();
+            } else {
+                Bukkit.getRegionScheduler().execute(this.plugin, world, chunkX, chunkZ, lookup);
+            }
+            futures[chunk++] = future;
+        }
+        return CompletableFuture.allOf(futures).thenApply(v -> blocks);
+    }
+
+    @Override
+    public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
+        Vector3i[] positions = new Vector3i[iter.getMaxIterations()];
+        for (; iter.hasNext(); iter.next()) {
+            positions[iter.getIteration()] = Vector3i.from(iter.getX(), iter.getY(), iter.getZ());
+        }
+        // Only blocks on Folia, and then once per chunk instead of once per block
+        return getBlocksAtAsync(session, positions).join();
+    }
+
+    /**
+     * Gets the Java block state at the specified location. Must be called from a thread that owns the location.
+     */
+    protected int getBlockAt(World world, int x, int y, int z) {
+        if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+            return org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID;
+        }
+        return getBlockNetworkId(world.getBlockAt(x, y, z).getBlockData());
+    }
+
     public int getBlockNetworkId(Block block) {
         if (SchedulerUtils.FOLIA && !Bukkit.isOwnedByCurrentRegion(block)) {
             // Terrible behavior, but this is basically what's always been happening behind the scenes anyway.
-            CompletableFuture<String> blockData = new CompletableFuture<>();
-            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData().getAsString()));
-            return BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(blockData.join(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            // Prefer getBlocksAtAsync where possible.
+            CompletableFuture<Integer> blockData = new CompletableFuture<>();
+            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(getBlockNetworkId(block.getBlockData())));
+            return blockData.join();
+        }
+        return getBlockNetworkId(block.getBlockData());
+    }
+
+    /**
+     * Block data is compared by its underlying block state, so this only needs to go through the
+     * string identifier once for every block state that is looked up.
+     */
+    private int getBlockNetworkId(BlockData blockData) {
+        Integer networkId = blockDataToId.get(blockData);
+        if (networkId == null) {
+            networkId = BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(blockData.getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            blockDataToId.put(blockData, networkId);
         }
-        return BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(block.getBlockData().getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID); // TODO could just make this a BlockState lookup?
+        return networkId;
     }
 
     @Override
@@ -32,6 +32,7 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.SecureRandom;
 
@@ -40,6 +41,17 @@ public final class AesCipher implements FloodgateCipher {
     public static final int IV_LENGTH = 12;
     private static final int TAG_BIT_LENGTH = 128;
     private static final String CIPHER_NAME = "AES/GCM/NoPadding";
+    /**
+     * Looking up a cipher goes through the security providers every time, so keep one per thread instead.
+     * Each call re-initialises the cipher with a new IV.
+     */
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(CIPHER_NAME);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
 
     private final SecureRandom secureRandom = new SecureRandom();
     private final Topping topping;
@@ -55,7 +67,7 @@ public final class AesCipher implements FloodgateCipher {
     }
 
     public byte[] encrypt(byte[] data) throws Exception {
-        Cipher cipher = Cipher.getInstance(CIPHER_NAME);
+        Cipher cipher = CIPHERS.get();
 
         byte[] iv = new byte[IV_LENGTH];
         secureRandom.nextBytes(iv);
@@ -80,7 +92,7 @@ public final class AesCipher implements FloodgateCipher {
     public byte[] decrypt(byte[] cipherTextWithIv) throws Exception {
         checkHeader(cipherTextWithIv);
 
-        Cipher cipher = Cipher.getInstance(CIPHER_NAME);
+        Cipher cipher = CIPHERS.get();
 
         int bufferLength = cipherTextWithIv.length - HEADER.length;
         ByteBuffer buffer = ByteBuffer.wrap(cipherTextWithIv, HEADER.length, bufferLength);
@@ -2,6 +2,7 @@ plugins {
     // Allow blossom to mark sources root of templates
     idea
     alias(libs.plugins.blossom)
+    alias(libs.plugins.jmh)
     id("geyser.publish-conventions")
     id("io.freefair.lombok")
 }
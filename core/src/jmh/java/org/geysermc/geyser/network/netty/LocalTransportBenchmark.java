@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalIoHandler;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many packets per second a session can send to the server through a local channel, with the shared
+ * DefaultEventLoopGroup and default allocator used before, and with the optimized transport. Like Geyser, every packet
+ * is written and flushed from its own task on the session's event loop. The server only releases what it receives,
+ * so this measures the transport rather than packet encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalTransportBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"false", "true"})
+    public boolean optimized;
+
+    /**
+     * About the size of a movement packet, and of a larger one such as a chat message.
+     */
+    @Param({"32", "512"})
+    public int packetSize;
+
+    private final AtomicLong received = new AtomicLong();
+    private long sent;
+
+    private EventLoopGroup serverGroup;
+    private EventLoopGroup clientGroup;
+    private Channel serverChannel;
+    private Channel clientChannel;
+    private Runnable writeTask;
+
+    @Setup
+    public void setup() {
+        serverGroup = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        serverChannel = new ServerBootstrap()
+            .group(serverGroup)
+            .channel(LocalServerChannel.class)
+            .childHandler(new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    ReferenceCountUtil.release(msg);
+                    received.incrementAndGet();
+                }
+            })
+            .bind(new LocalAddress("geyser-benchmark"))
+            .syncUninterruptibly()
+            .channel();
+
+        clientGroup = optimized ? LocalSession.createOptimizedEventLoopGroup(1) : new DefaultEventLoopGroup(1);
+        ByteBufAllocator allocator = optimized ? LocalSession.createPooledDirectByteBufAllocator() : ByteBufAllocator.DEFAULT;
+        clientChannel = new Bootstrap()
+            .group(clientGroup)
+            .channel(LocalChannel.class)
+            .option(ChannelOption.ALLOCATOR, allocator)
+            .handler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel channel) {
+                    if (optimized) {
+                        LocalSession.addFlushConsolidation(channel);
+                    }
+                }
+            })
+            .connect(serverChannel.localAddress())
+            .syncUninterruptibly()
+            .channel();
+
+        writeTask = () -> clientChannel.writeAndFlush(clientChannel.alloc().buffer(packetSize).writeZero(packetSize));
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientChannel.close().syncUninterruptibly();
+        serverChannel.close().syncUninterruptibly();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void sendPackets() {
+        for (int i = 0; i < BATCH; i++) {
+            clientChannel.eventLoop().execute(writeTask);
+        }
+        sent += BATCH;
+        while (received.get() < sent) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.math.vector.Vector3f;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares picking the skulls that get an entity by going over every skull and sorting the ones in range, as was done
+ * before, against {@link SkullGrid}. Skulls are spread over an area the size of a large hub, and the player is placed
+ * at random positions within it, with the default custom skull render distance and maximum of visible skulls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkullCullingBenchmark {
+    private static final int AREA = 512;
+    private static final int RENDER_DISTANCE = 32;
+    private static final int MAX_VISIBLE_SKULLS = 128;
+    private static final int POSITIONS = 64;
+
+    @Param({"10000"})
+    public int skullCount;
+
+    private final List<SkullCache.Skull> skulls = new ArrayList<>();
+    private final SkullGrid grid = new SkullGrid();
+    private Vector3f[] positions;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        for (int i = 0; i < skullCount; i++) {
+            SkullCache.Skull skull = new SkullCache.Skull(Vector3i.from(random.nextInt(AREA), 64 + random.nextInt(16), random.nextInt(AREA)));
+            skulls.add(skull);
+            grid.add(skull);
+        }
+
+        positions = new Vector3f[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = Vector3f.from(random.nextFloat() * AREA, 70, random.nextFloat() * AREA);
+        }
+    }
+
+    @Benchmark
+    public List<SkullCache.Skull> fullScan() {
+        Vector3f position = nextPosition();
+        int renderDistanceSquared = RENDER_DISTANCE * RENDER_DISTANCE;
+
+        List<SkullCache.Skull> inRange = new ArrayList<>();
+        for (SkullCache.Skull skull : skulls) {
+            skull.setDistanceSquared(skull.getPosition().distanceSquared(position.getX(), position.getY(), position.getZ()));
+            if (skull.getDistanceSquared() <= renderDistanceSquared) {
+                inRange.add(skull);
+            }
+        }
+        inRange.sort(Comparator.comparingInt(SkullCache.Skull::getDistanceSquared));
+        return inRange.subList(0, Math.min(MAX_VISIBLE_SKULLS, inRange.size()));
+    }
+
+    @Benchmark
+    public List<SkullCache.Skull> grid() {
+        List<SkullCache.Skull> nearest = new ArrayList<>();
+        grid.collect(nextPosition(), RENDER_DISTANCE, MAX_VISIBLE_SKULLS, nearest, new ArrayList<>());
+        return nearest;
+    }
+
+    private Vector3f nextPosition() {
+        Vector3f position = positions[next];
+        next = (next + 1) % POSITIONS;
+        return position;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.java;
+
+import net.kyori.adventure.key.Key;
+import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
+import org.cloudburstmc.protocol.bedrock.data.definitions.SimpleItemDefinition;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemVersion;
+import org.cloudburstmc.protocol.bedrock.data.inventory.crafting.RecipeUnlockingRequirement;
+import org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.RecipeData;
+import org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.ShapedRecipeData;
+import org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.ShapelessRecipeData;
+import org.cloudburstmc.protocol.bedrock.data.inventory.descriptor.DefaultDescriptor;
+import org.cloudburstmc.protocol.bedrock.data.inventory.descriptor.ItemDescriptorWithCount;
+import org.geysermc.geyser.session.cache.tags.NetworkIdSet;
+import org.geysermc.geyser.translator.protocol.java.RecipeTranslationCache.TranslatedRecipe;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.RecipeDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.ShapedCraftingRecipeDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.ShapelessCraftingRecipeDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.ItemSlotDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.SlotDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.TagSlotDisplay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares expanding recipe inputs with {@link JavaRecipeBookAddTranslator#expandInputs(List)} against looking the
+ * expansion up in a filled {@link RecipeTranslationCache}. Building the Bedrock recipe data, which is still done per
+ * session, is included in both.
+ * <p>
+ * The recipes are synthetic: about 1300 random crafting recipes over made up items, a fifth of the ingredients being
+ * tags. Ingredients are turned into item descriptors directly, as the translator's own input and output translation
+ * and Bedrock tag lookups need a full session; those are skipped by the cache too, but are not measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeTranslationCacheBenchmark {
+    private static final int RECIPES = 1300;
+    private static final int ITEMS = 1400;
+    private static final int PROTOCOL_VERSION = 844;
+    private static final String LOCALE = "en_us";
+
+    private final Map<Key, NetworkIdSet> tags = new HashMap<>();
+    private final List<RecipeDisplay> displays = new ArrayList<>(RECIPES);
+    private ItemDefinition[] definitions;
+    private RecipeTranslationCache warmCache;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        definitions = new ItemDefinition[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            definitions[i] = new SimpleItemDefinition("minecraft:item_" + i, i, ItemVersion.NONE, false, null);
+        }
+
+        String[] tagNames = {"planks", "logs", "wool", "stone_crafting_materials", "coals", "wooden_slabs"};
+        int[] tagSizes = {12, 40, 16, 3, 2, 12};
+        for (int i = 0; i < tagNames.length; i++) {
+            int[] ids = random.ints(0, ITEMS).distinct().limit(tagSizes[i]).sorted().toArray();
+            tags.put(Key.key(tagNames[i]), new NetworkIdSet(ids));
+        }
+        List<Key> tagKeys = new ArrayList<>(tags.keySet());
+
+        for (int i = 0; i < RECIPES; i++) {
+            boolean shaped = random.nextInt(10) < 7;
+            int width = 1 + random.nextInt(3);
+            int height = 1 + random.nextInt(3);
+            int size = shaped ? width * height : 1 + random.nextInt(9);
+
+            List<SlotDisplay> ingredients = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                if (random.nextInt(5) == 0) {
+                    ingredients.add(new TagSlotDisplay(tagKeys.get(random.nextInt(tagKeys.size()))));
+                } else {
+                    ingredients.add(new ItemSlotDisplay(1 + random.nextInt(ITEMS - 1)));
+                }
+            }
+            SlotDisplay result = new ItemSlotDisplay(1 + random.nextInt(ITEMS - 1));
+            SlotDisplay craftingTable = new ItemSlotDisplay(0);
+            displays.add(shaped ? new ShapedCraftingRecipeDisplay(width, height, ingredients, result, craftingTable)
+                : new ShapelessCraftingRecipeDisplay(ingredients, result, craftingTable));
+        }
+
+        warmCache = new RecipeTranslationCache();
+        translateAll(warmCache);
+    }
+
+    @Benchmark
+    public List<RecipeData> uncached() {
+        return translateAll(new RecipeTranslationCache());
+    }
+
+    @Benchmark
+    public List<RecipeData> cached() {
+        return translateAll(warmCache);
+    }
+
+    private List<RecipeData> translateAll(RecipeTranslationCache cache) {
+        List<RecipeData> craftingData = new ArrayList<>();
+        int netId = 1;
+        for (int i = 0; i < displays.size(); i++) {
+            RecipeDisplay display = displays.get(i);
+            List<SlotDisplay> ingredients = display instanceof ShapedCraftingRecipeDisplay shaped
+                ? shaped.ingredients() : ((ShapelessCraftingRecipeDisplay) display).ingredients();
+
+            RecipeTranslationCache.RecipeKey key = RecipeTranslationCache.key(display, ingredients, PROTOCOL_VERSION, LOCALE,
+                false, tag -> tags.getOrDefault(tag, NetworkIdSet.EMPTY));
+            TranslatedRecipe recipe = cache.get(key, () -> translate(display, ingredients));
+
+            List<ItemData> output = Collections.singletonList(recipe.output());
+            for (int j = 0; j < recipe.inputs().size(); j++) {
+                String recipeId = i + "_" + j;
+                if (display instanceof ShapedCraftingRecipeDisplay shaped) {
+                    craftingData.add(ShapedRecipeData.shaped(recipeId, shaped.width(), shaped.height(), recipe.inputs().get(j),
+                        output, UUID.randomUUID(), "crafting_table", 0, netId++, false, RecipeUnlockingRequirement.INVALID));
+                } else {
+                    craftingData.add(ShapelessRecipeData.shapeless(recipeId, recipe.inputs().get(j), output, UUID.randomUUID(),
+                        "crafting_table", 0, netId++, RecipeUnlockingRequirement.INVALID));
+                }
+            }
+        }
+        return craftingData;
+    }
+
+    private TranslatedRecipe translate(RecipeDisplay display, List<SlotDisplay> ingredients) {
+        List<List<ItemDescriptorWithCount>> inputs = new ArrayList<>(ingredients.size());
+        for (SlotDisplay ingredient : ingredients) {
+            if (ingredient instanceof TagSlotDisplay tagSlot) {
+                int[] ids = tags.get(tagSlot.tag()).ids();
+                List<ItemDescriptorWithCount> translated = new ArrayList<>(ids.length);
+                for (int id : ids) {
+                    translated.add(descriptor(id));
+                }
+                inputs.add(translated);
+            } else {
+                inputs.add(List.of(descriptor(((ItemSlotDisplay) ingredient).item())));
+            }
+        }
+
+        ItemData output = ItemData.builder().definition(definitions[((ItemSlotDisplay) display.result()).item()]).count(1).build();
+        return new TranslatedRecipe(JavaRecipeBookAddTranslator.expandInputs(inputs), output);
+    }
+
+    private ItemDescriptorWithCount descriptor(int id) {
+        return new ItemDescriptorWithCount(new DefaultDescriptor(definitions[id], 0), 1);
+    }
+}
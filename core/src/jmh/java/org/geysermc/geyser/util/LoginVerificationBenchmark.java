@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import org.cloudburstmc.protocol.bedrock.data.auth.AuthType;
+import org.cloudburstmc.protocol.bedrock.data.auth.CertificateChainPayload;
+import org.cloudburstmc.protocol.bedrock.packet.LoginPacket;
+import org.cloudburstmc.protocol.bedrock.util.EncryptionUtils;
+import org.geysermc.geyser.session.auth.LoginVerifier;
+import org.geysermc.geyser.util.LoginEncryptionUtils.VerifiedLogin;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwx.HeaderParameterNames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many logins per second can go through the verification part of the handshake: validating the chain,
+ * verifying and parsing the client data, and preparing encryption. Uses self-signed logins, like offline clients send.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginVerificationBenchmark {
+    private static final int BATCH = 256;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private LoginPacket loginPacket;
+    private LoginVerifier verifier;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPair keyPair = EncryptionUtils.createKeyPair();
+        String publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+        long now = Instant.now().getEpochSecond();
+
+        String chain = sign(keyPair, publicKey, """
+            {"certificateAuthority":true,"identityPublicKey":"%s","nbf":%d,"exp":%d,"iat":%d,
+            "extraData":{"displayName":"Benchmark","identity":"%s","XUID":""}}"""
+            .formatted(publicKey, now - 60, now + 3600, now, UUID.randomUUID()));
+        String clientData = sign(keyPair, publicKey, """
+            {"GameVersion":"1.21.100","DeviceOS":7,"LanguageCode":"en_US","ServerAddress":"127.0.0.1:19132"}""");
+
+        loginPacket = new LoginPacket();
+        loginPacket.setAuthPayload(new CertificateChainPayload(List.of(chain), AuthType.SELF_SIGNED));
+        loginPacket.setClientJwt(clientData);
+
+        verifier = new LoginVerifier(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Benchmark
+    public VerifiedLogin networkThread() throws Exception {
+        return LoginEncryptionUtils.verifyLogin(loginPacket, true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void verificationPool() {
+        CompletableFuture<?>[] futures = new CompletableFuture[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = verifier.verify(loginPacket, true);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private static String sign(KeyPair keyPair, String publicKey, String payload) throws Exception {
+        JsonWebSignature jws = new JsonWebSignature();
+        jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384);
+        jws.setHeader(HeaderParameterNames.X509_URL, publicKey);
+        jws.setPayload(payload);
+        jws.setKey(keyPair.getPrivate());
+        return jws.getCompactSerialization();
+    }
+}
@@ -74,9 +74,14 @@ import org.geysermc.geyser.event.type.SessionDisconnectEventImpl;
 import org.geysermc.geyser.extension.GeyserExtensionManager;
 import org.geysermc.geyser.impl.MinecraftVersionImpl;
 import org.geysermc.geyser.level.BedrockDimension;
+import org.geysermc.geyser.level.chunk.ChunkEncodingCache;
 import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.metrics.GeyserMetricsCollector;
+import org.geysermc.geyser.metrics.MetricsExporter;
+import org.geysermc.geyser.metrics.ServerMetrics;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.network.netty.GeyserServer;
+import org.geysermc.geyser.pack.ResourcePackUploadScheduler;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.loader.ResourcePackLoader;
@@ -86,12 +91,15 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.session.SessionDisconnectListener;
 import org.geysermc.geyser.session.SessionManager;
+import org.geysermc.geyser.session.auth.LoginVerifier;
 import org.geysermc.geyser.session.cache.RegistryCache;
+import org.geysermc.geyser.session.tick.TickMonitor;
 import org.geysermc.geyser.skin.FloodgateSkinUploader;
 import org.geysermc.geyser.skin.ProvidedSkins;
 import org.geysermc.geyser.skin.SkinProvider;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.text.MinecraftLocale;
+import org.geysermc.geyser.translator.protocol.TranslatorMetrics;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.AssetUtils;
 import org.geysermc.geyser.util.CodeOfConductManager;
@@ -120,6 +128,8 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -173,6 +183,15 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
 
     private Metrics metrics;
 
+    private ChunkEncodingCache chunkEncodingCache;
+    private ForkJoinPool chunkTranslationExecutor;
+    private ResourcePackUploadScheduler resourcePackUploadScheduler;
+    private LoginVerifier loginVerifier;
+    private TranslatorMetrics translatorMetrics;
+    private ServerMetrics serverMetrics;
+    private MetricsExporter metricsExporter;
+    private TickMonitor tickMonitor;
+
     private PendingMicrosoftAuthentication pendingMicrosoftAuthentication;
     @Getter(AccessLevel.NONE)
     private Map<String, String> savedAuthChains;
@@ -426,6 +445,58 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
 
         Packets.initGeyser();
 
+        if (config.getChunkEncodingCacheSize() > 0) {
+            this.chunkEncodingCache = new ChunkEncodingCache(config.getChunkEncodingCacheSize());
+        } else {
+            this.chunkEncodingCache = null;
+        }
+
+        if (config.getChunkTranslationThreads() > 0) {
+            this.chunkTranslationExecutor = new ForkJoinPool(config.getChunkTranslationThreads(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Geyser Chunk Translation Thread #" + thread.getPoolIndex());
+                return thread;
+            }, null, true);
+        } else {
+            this.chunkTranslationExecutor = null;
+        }
+
+        this.resourcePackUploadScheduler = new ResourcePackUploadScheduler(config.getResourcePackUploadLimit());
+        this.resourcePackUploadScheduler.start(scheduledThread);
+
+        if (config.getLoginVerificationThreads() > 0) {
+            this.loginVerifier = new LoginVerifier(config.getLoginVerificationThreads());
+        } else {
+            this.loginVerifier = null;
+        }
+
+        if (config.isTranslatorMetrics()) {
+            this.translatorMetrics = new TranslatorMetrics();
+        } else {
+            this.translatorMetrics = null;
+        }
+
+        if (config.getTickWatchdogThreshold() > 0 || config.isBalancePlayerThreads()) {
+            this.tickMonitor = new TickMonitor(logger, config.getTickWatchdogThreshold());
+            this.tickMonitor.start(scheduledThread);
+        } else {
+            this.tickMonitor = null;
+        }
+
+        this.serverMetrics = null;
+        this.metricsExporter = null;
+        if (config.getMetricsExporterPort() > 0) {
+            ServerMetrics serverMetrics = new ServerMetrics();
+            InetSocketAddress address = new InetSocketAddress(config.getMetricsExporterAddress(), config.getMetricsExporterPort());
+            try {
+                this.metricsExporter = new MetricsExporter(address, new GeyserMetricsCollector(this, serverMetrics));
+                this.serverMetrics = serverMetrics;
+                logger.info("Serving metrics on http://" + config.getMetricsExporterAddress() + ":" + config.getMetricsExporterPort() + "/metrics");
+            } catch (IOException e) {
+                logger.error("Failed to start the metrics exporter on " + address, e);
+            }
+        }
+
         if (Epoll.isAvailable()) {
             this.erosionUnixListener = new UnixSocketClientListener();
         } else {
@@ -696,6 +767,12 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         runIfNonNull(skinUploader, FloodgateSkinUploader::close);
         runIfNonNull(newsHandler, NewsHandler::shutdown);
         runIfNonNull(erosionUnixListener, UnixSocketClientListener::close);
+        runIfNonNull(chunkEncodingCache, ChunkEncodingCache::clear);
+        runIfNonNull(chunkTranslationExecutor, ForkJoinPool::shutdown);
+        runIfNonNull(resourcePackUploadScheduler, ResourcePackUploadScheduler::stop);
+        runIfNonNull(loginVerifier, LoginVerifier::shutdown);
+        runIfNonNull(metricsExporter, MetricsExporter::stop);
+        runIfNonNull(tickMonitor, TickMonitor::stop);
 
         ResourcePackLoader.clear();
         CodeOfConductManager.getInstance().save();
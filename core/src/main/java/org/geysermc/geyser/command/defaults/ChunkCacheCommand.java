@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.command.defaults;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.util.TriState;
+import org.geysermc.geyser.command.GeyserCommand;
+import org.geysermc.geyser.command.GeyserCommandSource;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.text.ChatColor;
+import org.incendo.cloud.context.CommandContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows how much memory each session's chunk cache is using.
+ */
+public class ChunkCacheCommand extends GeyserCommand {
+    private static final int SHOWN_SESSIONS = 10;
+
+    private final GeyserImpl geyser;
+
+    public ChunkCacheCommand(GeyserImpl geyser, String name, String description, String permission) {
+        super(name, description, permission, TriState.NOT_SET);
+        this.geyser = geyser;
+    }
+
+    @Override
+    public void execute(CommandContext<GeyserCommandSource> context) {
+        GeyserCommandSource source = context.sender();
+
+        // Chunk caches are not thread-safe, so measure them on each session's own event loop
+        List<CompletableFuture<SessionUsage>> futures = new ArrayList<>();
+        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+            CompletableFuture<SessionUsage> future = new CompletableFuture<>();
+            session.ensureInEventLoop(() -> {
+                ChunkCache cache = session.getChunkCache();
+                future.complete(new SessionUsage(session.bedrockUsername(), cache.size(), cache.getMemoryUsage(),
+                    cache.getDistanceEvictions(), cache.getStaleEvictions()));
+            });
+            futures.add(future.orTimeout(5, TimeUnit.SECONDS));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((v, throwable) -> {
+            List<SessionUsage> usages = new ArrayList<>();
+            for (CompletableFuture<SessionUsage> future : futures) {
+                if (!future.isCompletedExceptionally()) {
+                    usages.add(future.join());
+                }
+            }
+            usages.sort(Comparator.comparingLong(SessionUsage::bytes).reversed());
+
+            long totalBytes = usages.stream().mapToLong(SessionUsage::bytes).sum();
+            int totalChunks = usages.stream().mapToInt(SessionUsage::chunks).sum();
+            long distanceEvictions = usages.stream().mapToLong(SessionUsage::distanceEvictions).sum();
+            long staleEvictions = usages.stream().mapToLong(SessionUsage::staleEvictions).sum();
+            String backend = geyser.getConfig().isCompactChunkCache() ? "compact" : "default";
+            source.sendMessage(ChatColor.YELLOW + "Chunk cache (" + backend + "): " + ChatColor.RESET
+                + formatBytes(totalBytes) + " across " + totalChunks + " chunks and " + usages.size() + " sessions");
+            if (geyser.getConfig().getChunkCacheEvictionMargin() > 0) {
+                source.sendMessage("Evicted by distance: " + distanceEvictions + ", stale chunks evicted: " + staleEvictions);
+            }
+            for (int i = 0; i < Math.min(SHOWN_SESSIONS, usages.size()); i++) {
+                SessionUsage usage = usages.get(i);
+                source.sendMessage(" - " + usage.name() + ": " + formatBytes(usage.bytes()) + " (" + usage.chunks() + " chunks)");
+            }
+        });
+    }
+
+    private static String formatBytes(long bytes) {
+        return String.format(Locale.ROOT, "%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private record SessionUsage(String name, int chunks, long bytes, long distanceEvictions, long staleEvictions) {
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.command.defaults;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.util.TriState;
+import org.geysermc.geyser.command.GeyserCommand;
+import org.geysermc.geyser.command.GeyserCommandSource;
+import org.geysermc.geyser.session.tick.TickMonitor;
+import org.geysermc.geyser.text.ChatColor;
+import org.geysermc.geyser.translator.protocol.TranslatorMetrics;
+import org.geysermc.geyser.util.PerformanceSnapshot;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.suggestion.SuggestionProvider;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.incendo.cloud.parser.standard.StringParser.stringParser;
+
+/**
+ * Shows Geyser's performance counters, including which packet translators take the most time if translator metrics
+ * are enabled.
+ */
+public class PerfCommand extends GeyserCommand {
+    private static final String ACTION = "action";
+    private static final int SHOWN_PACKETS = 10;
+    private static final int SHOWN_SESSIONS = 5;
+
+    private final GeyserImpl geyser;
+
+    public PerfCommand(GeyserImpl geyser, String name, String description, String permission) {
+        super(name, description, permission, TriState.NOT_SET);
+        this.geyser = geyser;
+    }
+
+    @Override
+    public void register(CommandManager<GeyserCommandSource> manager) {
+        manager.command(baseBuilder(manager)
+            .optional(ACTION, stringParser(), SuggestionProvider.suggestingStrings("reset"))
+            .handler(this::execute));
+    }
+
+    @Override
+    public void execute(CommandContext<GeyserCommandSource> context) {
+        GeyserCommandSource source = context.sender();
+
+        if ("reset".equals(context.getOrDefault(ACTION, null))) {
+            TranslatorMetrics metrics = geyser.getTranslatorMetrics();
+            if (metrics == null) {
+                source.sendMessage(ChatColor.RED + "Translator metrics are not enabled in the config.");
+                return;
+            }
+            metrics.reset();
+            source.sendMessage("Translator metrics have been reset.");
+            return;
+        }
+
+        PerformanceSnapshot snapshot = PerformanceSnapshot.capture(geyser);
+
+        List<TickMonitor.LoopSnapshot> playerThreads = snapshot.playerThreads();
+        if (playerThreads != null) {
+            source.sendMessage(ChatColor.YELLOW + "Player threads: " + ChatColor.RESET + snapshot.sessions() + " sessions");
+            for (TickMonitor.LoopSnapshot thread : playerThreads) {
+                source.sendMessage(" - " + thread.name() + ": " + thread.sessions() + " sessions, "
+                    + formatMillis(thread.tickNanosPerTick()) + " per tick, " + thread.overruns() + " overruns");
+            }
+        }
+
+        PerformanceSnapshot.Translation translation = snapshot.translation();
+        if (translation == null) {
+            source.sendMessage(ChatColor.YELLOW + "Packet translation: " + ChatColor.RESET + "not recorded (enable translator-metrics in the config)");
+        } else {
+            long packets = translation.packets().stream().mapToLong(TranslatorMetrics.PacketSnapshot::count).sum();
+            long nanos = translation.packets().stream().mapToLong(TranslatorMetrics.PacketSnapshot::totalNanos).sum();
+            source.sendMessage(ChatColor.YELLOW + "Packet translation (last " + translation.recordingForSeconds() + "s): " + ChatColor.RESET
+                + packets + " packets, " + formatMillis(nanos) + " total, queue delay " + format(translation.queueDelay()));
+
+            List<TranslatorMetrics.PacketSnapshot> slowest = translation.packets();
+            for (int i = 0; i < Math.min(SHOWN_PACKETS, slowest.size()); i++) {
+                TranslatorMetrics.PacketSnapshot packet = slowest.get(i);
+                source.sendMessage(" - " + packet.packetClass().getSimpleName() + ": " + packet.count() + "x, "
+                    + formatMillis(packet.totalNanos()) + " total, p50 " + formatMicros(packet.p50())
+                    + ", p99 " + formatMicros(packet.p99()) + ", p99.9 " + formatMicros(packet.p999()));
+            }
+
+            List<PerformanceSnapshot.SessionTranslation> sessions = translation.sessions();
+            for (int i = 0; i < Math.min(SHOWN_SESSIONS, sessions.size()); i++) {
+                PerformanceSnapshot.SessionTranslation session = sessions.get(i);
+                source.sendMessage(" - Player " + session.name() + ": " + session.packets() + " packets, " + formatMillis(session.nanos()));
+            }
+        }
+
+        PerformanceSnapshot.ChunkEncoding chunkEncoding = snapshot.chunkEncoding();
+        if (chunkEncoding != null) {
+            source.sendMessage(ChatColor.YELLOW + "Chunk encoding cache: " + ChatColor.RESET + chunkEncoding.size() + " entries, "
+                + chunkEncoding.hits() + " hits, " + chunkEncoding.misses() + " misses, " + chunkEncoding.evictions() + " evictions");
+        }
+
+        PerformanceSnapshot.Pings pings = snapshot.pings();
+        if (pings != null) {
+            source.sendMessage(ChatColor.YELLOW + "Pings: " + ChatColor.RESET + pings.served() + " from cache, "
+                + pings.stale() + " while refreshing, " + pings.refreshed() + " refreshes");
+        }
+
+        PerformanceSnapshot.Logins logins = snapshot.logins();
+        if (logins != null) {
+            source.sendMessage(ChatColor.YELLOW + "Login verification: " + ChatColor.RESET + logins.verified() + " verified, "
+                + logins.failed() + " failed, " + logins.queued() + " queued, " + logins.verifiedOnCaller()
+                + " on network threads, " + format(logins.latency()));
+        }
+
+        PerformanceSnapshot.Skins skins = snapshot.skins();
+        source.sendMessage(ChatColor.YELLOW + "Skin fetching: " + ChatColor.RESET + skins.completed() + " completed, "
+            + skins.inFlight() + " in flight, " + skins.coalesced() + " coalesced, " + skins.failed() + " failed, "
+            + skins.cancelled() + " cancelled, " + format(skins.latency()));
+
+        PerformanceSnapshot.ResourcePacks resourcePacks = snapshot.resourcePacks();
+        if (resourcePacks != null) {
+            source.sendMessage(ChatColor.YELLOW + "Resource pack uploads: " + ChatColor.RESET + resourcePacks.completedDownloads()
+                + " completed (average " + resourcePacks.averageDownloadMillis() + " ms, longest " + resourcePacks.longestDownloadMillis()
+                + " ms), " + resourcePacks.downloadingSessions() + " in progress, " + resourcePacks.queuedBytes() + " bytes queued");
+        }
+
+        PerformanceSnapshot.Batching batching = snapshot.batching();
+        if (batching != null) {
+            source.sendMessage(ChatColor.YELLOW + "Packet batching: " + ChatColor.RESET + batching.metadataPacketsSaved()
+                + " entity metadata packets saved, " + batching.movementPacketsSaved() + " entity move packets saved");
+
+            List<PerformanceSnapshot.SessionMovement> movements = batching.sessions();
+            for (int i = 0; i < Math.min(SHOWN_SESSIONS, movements.size()); i++) {
+                PerformanceSnapshot.SessionMovement movement = movements.get(i);
+                source.sendMessage(" - Player " + movement.name() + ": " + movement.deferred() + " moves held back, "
+                    + movement.saved() + " saved");
+            }
+        }
+
+        PerformanceSnapshot.Compression compression = snapshot.compression();
+        if (compression != null) {
+            source.sendMessage(ChatColor.YELLOW + "Compression: " + ChatColor.RESET + compression.batches() + " batches ("
+                + compression.uncompressedBatches() + " uncompressed), " + formatPercent(compression.ratio()) + " of original size, "
+                + formatMillis(compression.nanos()) + " total");
+
+            List<PerformanceSnapshot.SessionCompression> compressions = compression.sessions();
+            for (int i = 0; i < Math.min(SHOWN_SESSIONS, compressions.size()); i++) {
+                PerformanceSnapshot.SessionCompression session = compressions.get(i);
+                source.sendMessage(" - Player " + session.name() + ": " + formatPercent(session.ratio()) + " of original size, "
+                    + formatMillis(session.nanos()) + " over " + session.batches() + " batches");
+            }
+        }
+
+        PerformanceSnapshot.SharedData sharedData = snapshot.sharedData();
+        source.sendMessage(ChatColor.YELLOW + "Shared data: " + ChatColor.RESET + sharedData.liveRegistrySnapshots() + " registry snapshots ("
+            + sharedData.registrySnapshotsReused() + " reused), " + sharedData.liveTagSets() + " tag sets ("
+            + sharedData.tagSetsReused() + " reused), " + sharedData.liveMapCanvases() + " map canvases ("
+            + sharedData.mapCanvasesShared() + " reused), " + sharedData.cachedCommandTrees() + " command trees ("
+            + formatPercent(sharedData.commandTreeHitRate()) + " hit rate), " + sharedData.cachedRecipes() + " recipes ("
+            + formatPercent(sharedData.recipeHitRate()) + " hit rate)");
+    }
+
+    private static String format(PerformanceSnapshot.Latency latency) {
+        return "p50 " + formatMicros(latency.p50()) + ", p99 " + formatMicros(latency.p99());
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0);
+    }
+
+    private static String formatPercent(double share) {
+        return String.format(Locale.ROOT, "%.1f%%", share * 100);
+    }
+
+    private static String formatMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f µs", nanos / 1_000.0);
+    }
+}
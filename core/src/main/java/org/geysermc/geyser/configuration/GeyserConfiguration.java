@@ -66,6 +66,8 @@ public interface GeyserConfiguration {
 
     int getPingPassthroughInterval();
 
+    int getPingCacheInterval();
+
     boolean isForwardPlayerPing();
 
     int getMaxPlayers();
@@ -101,6 +103,10 @@ public interface GeyserConfiguration {
 
     int getCacheImages();
 
+    int getSkinMemoryCacheSize();
+
+    int getSkinFetchHostLimit();
+
     boolean isAllowCustomSkulls();
 
     int getMaxVisibleCustomSkulls();
@@ -130,6 +136,12 @@ public interface GeyserConfiguration {
 
         int getCompressionLevel();
 
+        boolean isAdaptiveCompression();
+
+        int getCompressionThreshold();
+
+        boolean isSnappyCompression();
+
         boolean isEnableProxyProtocol();
 
         List<String> getProxyProtocolWhitelistedIPs();
@@ -179,6 +191,34 @@ public interface GeyserConfiguration {
 
     boolean isDisableCompression();
 
+    boolean isOptimizedDirectConnection();
+
+    int getChunkEncodingCacheSize();
+
+    int getChunkTranslationThreads();
+
+    boolean isCompactChunkCache();
+
+    int getChunkCacheEvictionMargin();
+
+    int getResourcePackUploadLimit();
+
+    int getLoginVerificationThreads();
+
+    boolean isTranslatorMetrics();
+
+    String getMetricsExporterAddress();
+
+    int getMetricsExporterPort();
+
+    int getTickWatchdogThreshold();
+
+    boolean isBalancePlayerThreads();
+
+    boolean isBatchEntityMetadata();
+
+    int getEntityMovementLodDistance();
+
     int getConfigVersion();
 
     static void checkGeyserConfiguration(GeyserConfiguration geyserConfig, GeyserLogger geyserLogger) {
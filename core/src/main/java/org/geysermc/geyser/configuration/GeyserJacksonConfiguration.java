@@ -84,6 +84,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("ping-passthrough-interval")
     private int pingPassthroughInterval = 3;
 
+    @JsonProperty("ping-cache-interval")
+    private int pingCacheInterval = 1000;
+
     @JsonProperty("forward-player-ping")
     private boolean forwardPlayerPing = false;
 
@@ -118,6 +121,12 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("cache-images")
     private int cacheImages = 0;
 
+    @JsonProperty("skin-memory-cache-size")
+    private int skinMemoryCacheSize = 32;
+
+    @JsonProperty("skin-fetch-host-limit")
+    private int skinFetchHostLimit = 8;
+
     @JsonProperty("allow-custom-skulls")
     private boolean allowCustomSkulls = true;
 
@@ -218,6 +227,21 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
             return Math.max(-1, Math.min(compressionLevel, 9));
         }
 
+        @Getter
+        @JsonProperty("adaptive-compression")
+        private boolean adaptiveCompression = false;
+
+        @JsonProperty("compression-threshold")
+        private int compressionThreshold = 256;
+
+        public int getCompressionThreshold() {
+            return Math.max(0, compressionThreshold);
+        }
+
+        @Getter
+        @JsonProperty("snappy-compression")
+        private boolean snappyCompression = false;
+
         @Getter
         @JsonProperty("enable-proxy-protocol")
         private boolean enableProxyProtocol = false;
@@ -338,6 +362,48 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("disable-compression")
     private boolean isDisableCompression = true;
 
+    @JsonProperty("optimized-direct-connection")
+    private boolean optimizedDirectConnection = false;
+
+    @JsonProperty("chunk-encoding-cache-size")
+    private int chunkEncodingCacheSize = 0;
+
+    @JsonProperty("chunk-translation-threads")
+    private int chunkTranslationThreads = 0;
+
+    @JsonProperty("compact-chunk-cache")
+    private boolean compactChunkCache = false;
+
+    @JsonProperty("chunk-cache-eviction-margin")
+    private int chunkCacheEvictionMargin = 0;
+
+    @JsonProperty("resource-pack-upload-limit")
+    private int resourcePackUploadLimit = 0;
+
+    @JsonProperty("login-verification-threads")
+    private int loginVerificationThreads = 0;
+
+    @JsonProperty("translator-metrics")
+    private boolean translatorMetrics = false;
+
+    @JsonProperty("metrics-exporter-address")
+    private String metricsExporterAddress = "127.0.0.1";
+
+    @JsonProperty("metrics-exporter-port")
+    private int metricsExporterPort = 0;
+
+    @JsonProperty("tick-watchdog-threshold")
+    private int tickWatchdogThreshold = 0;
+
+    @JsonProperty("balance-player-threads")
+    private boolean balancePlayerThreads = false;
+
+    @JsonProperty("batch-entity-metadata")
+    private boolean batchEntityMetadata = false;
+
+    @JsonProperty("entity-movement-lod-distance")
+    private int entityMovementLodDistance = 0;
+
     @JsonProperty("config-version")
     private int configVersion = 0;
 
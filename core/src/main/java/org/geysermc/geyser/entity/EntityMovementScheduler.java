@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.entity;
+
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket;
+import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Set;
+
+/**
+ * Lowers how often far away entities are moved on the Bedrock client. Moves of entities further away than the configured
+ * distance are held back and merged with later moves of the same entity, and then sent every 2, 4 or 8 ticks depending on
+ * how far away the entity is. Since relative moves carry the resulting position, the merged packet always ends up at the
+ * entity's latest position.
+ * <p>
+ * Absolute moves (teleports) are always sent right away, and replace any move that was held back. Entities that send
+ * their own move packets must cancel or flush the move held back for them first; otherwise it would put the entity
+ * back at an older position once it is sent.
+ */
+public final class EntityMovementScheduler {
+    private static final int MAX_INTERVAL = 8;
+
+    private final GeyserSession session;
+    private final float distanceSquared;
+    private final Reference2ObjectMap<Entity, PendingMove> pending = new Reference2ObjectLinkedOpenHashMap<>();
+    private int ticks;
+
+    // Only written on the session's event loop, but read when capturing a performance snapshot
+    private volatile long deferred;
+    private volatile long saved;
+
+    public EntityMovementScheduler(GeyserSession session, int distance) {
+        this.session = session;
+        this.distanceSquared = (float) distance * distance;
+    }
+
+    /**
+     * Sends the move now if the entity is close to the player, or holds it back until the entity's next update.
+     */
+    public void move(Entity entity, MoveEntityDeltaPacket packet) {
+        PendingMove move = pending.get(entity);
+        if (move != null) {
+            merge(move.packet, packet);
+            move.moves++;
+            deferred++;
+            return;
+        }
+
+        int interval = interval(entity.getPosition());
+        if (interval == 1) {
+            session.sendUpstreamPacket(packet);
+            return;
+        }
+        pending.put(entity, new PendingMove(packet, ticks + interval));
+        deferred++;
+    }
+
+    /**
+     * Drops the move held back for this entity, if any, since the entity is about to be moved to an absolute position.
+     */
+    public void cancel(Entity entity) {
+        PendingMove move = pending.remove(entity);
+        if (move != null) {
+            saved += move.moves;
+        }
+    }
+
+    /**
+     * Sends the move held back for this entity right away, if any, since a packet that only carries some of the
+     * entity's position or rotation is about to be sent.
+     */
+    public void flush(Entity entity) {
+        PendingMove move = pending.remove(entity);
+        if (move != null) {
+            session.sendUpstreamPacket(move.packet);
+            saved += move.moves - 1;
+        }
+    }
+
+    /**
+     * Sends all moves that are due. Called every tick.
+     */
+    public void tick() {
+        ticks++;
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ObjectIterator<Reference2ObjectMap.Entry<Entity, PendingMove>> iterator = pending.reference2ObjectEntrySet().iterator();
+        while (iterator.hasNext()) {
+            Reference2ObjectMap.Entry<Entity, PendingMove> entry = iterator.next();
+            PendingMove move = entry.getValue();
+            if (!entry.getKey().isValid()) {
+                saved += move.moves;
+                iterator.remove();
+            } else if (ticks - move.dueTick >= 0) {
+                session.sendUpstreamPacket(move.packet);
+                saved += move.moves - 1;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return how many moves of this session were held back
+     */
+    public long deferred() {
+        return deferred;
+    }
+
+    /**
+     * @return how many move packets this session didn't send, because they were merged into later moves
+     */
+    public long saved() {
+        return saved;
+    }
+
+    private int interval(Vector3f position) {
+        float distance = session.getPlayerEntity().getPosition().distanceSquared(position);
+        int interval = 1;
+        // Every band is twice as far out as the previous one, and updated half as often
+        for (float band = distanceSquared; distance >= band && interval < MAX_INTERVAL; band *= 4) {
+            interval *= 2;
+        }
+        return interval;
+    }
+
+    private static void merge(MoveEntityDeltaPacket into, MoveEntityDeltaPacket from) {
+        Set<MoveEntityDeltaPacket.Flag> flags = from.getFlags();
+        if (flags.contains(MoveEntityDeltaPacket.Flag.HAS_X)) {
+            into.setX(from.getX());
+        }
+        if (flags.contains(MoveEntityDeltaPacket.Flag.HAS_Y)) {
+            into.setY(from.getY());
+        }
+        if (flags.contains(MoveEntityDeltaPacket.Flag.HAS_Z)) {
+            into.setZ(from.getZ());
+        }
+        if (flags.contains(MoveEntityDeltaPacket.Flag.HAS_PITCH)) {
+            into.setPitch(from.getPitch());
+        }
+        if (flags.contains(MoveEntityDeltaPacket.Flag.HAS_YAW)) {
+            into.setYaw(from.getYaw());
+        }
+        if (flags.contains(MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW)) {
+            into.setHeadYaw(from.getHeadYaw());
+        }
+        // Only the latest move knows whether the entity is on the ground
+        into.getFlags().remove(MoveEntityDeltaPacket.Flag.ON_GROUND);
+        into.getFlags().addAll(flags);
+    }
+
+    private static final class PendingMove {
+        private final MoveEntityDeltaPacket packet;
+        private final int dueTick;
+        private int moves = 1;
+
+        PendingMove(MoveEntityDeltaPacket packet, int dueTick) {
+            this.packet = packet;
+            this.dueTick = dueTick;
+        }
+    }
+}
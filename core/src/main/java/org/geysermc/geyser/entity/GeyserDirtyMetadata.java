@@ -36,9 +36,11 @@ import java.util.Map;
  */
 public final class GeyserDirtyMetadata {
     private final Map<EntityDataType<?>, Object> metadata = new Object2ObjectLinkedOpenHashMap<>();
+    private boolean changed;
 
     public <T> void put(EntityDataType<T> entityData, T value) {
         metadata.put(entityData, value);
+        changed = true;
     }
 
     /**
@@ -47,6 +49,16 @@ public final class GeyserDirtyMetadata {
     public void apply(EntityDataMap map) {
         map.putAll(metadata);
         metadata.clear();
+        changed = false;
+    }
+
+    /**
+     * @return whether anything was put since the last call, or since the contents were last applied
+     */
+    public boolean pollChanged() {
+        boolean changed = this.changed;
+        this.changed = false;
+        return changed;
     }
 
     public boolean hasEntries() {
@@ -110,6 +110,7 @@ public class BoatEntity extends Entity implements Leashable, Tickable {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(teleported);
 
+        cancelDeferredMovement();
         session.sendUpstreamPacket(moveEntityPacket);
     }
 
@@ -47,6 +47,7 @@ import org.geysermc.geyser.api.entity.property.BatchPropertyUpdater;
 import org.geysermc.geyser.api.entity.property.GeyserEntityProperty;
 import org.geysermc.geyser.api.entity.type.GeyserEntity;
 import org.geysermc.geyser.entity.EntityDefinition;
+import org.geysermc.geyser.entity.EntityMovementScheduler;
 import org.geysermc.geyser.entity.GeyserDirtyMetadata;
 import org.geysermc.geyser.entity.properties.GeyserEntityProperties;
 import org.geysermc.geyser.entity.properties.GeyserEntityPropertyManager;
@@ -149,6 +150,11 @@ public class Entity implements GeyserEntity {
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.PROTECTED) // For players
     private boolean flagsDirty = false;
+    /**
+     * Indicates if flags have changed since metadata was last updated, even if they have not been sent yet.
+     */
+    @Getter(AccessLevel.NONE)
+    private boolean flagsChanged = false;
 
     protected final GeyserEntityPropertyManager propertyManager;
 
@@ -293,7 +299,13 @@ public class Entity implements GeyserEntity {
         if (isOnGround) {
             moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
         }
-        session.sendUpstreamPacket(moveEntityPacket);
+
+        EntityMovementScheduler movementScheduler = session.getEntityCache().getMovementScheduler();
+        if (movementScheduler != null) {
+            movementScheduler.move(this, moveEntityPacket);
+        } else {
+            session.sendUpstreamPacket(moveEntityPacket);
+        }
     }
 
     public void moveAbsolute(Vector3f position, float yaw, float pitch, boolean isOnGround, boolean teleported) {
@@ -315,9 +327,33 @@ public class Entity implements GeyserEntity {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(teleported);
 
+        cancelDeferredMovement();
         session.sendUpstreamPacket(moveEntityPacket);
     }
 
+    /**
+     * Drops a move of this entity that is being held back, if any. Must be called before sending a move packet with the
+     * entity's full position without {@link #moveRelative(double, double, double, float, float, float, boolean)}, since
+     * the held back move would otherwise put the entity back at an older position once it is sent.
+     */
+    protected void cancelDeferredMovement() {
+        EntityMovementScheduler movementScheduler = session.getEntityCache().getMovementScheduler();
+        if (movementScheduler != null) {
+            movementScheduler.cancel(this);
+        }
+    }
+
+    /**
+     * Sends a move of this entity that is being held back, if any. Must be called before sending a move packet that only
+     * carries what changed, since the held back move may contain changes that packet leaves out.
+     */
+    public void sendDeferredMovement() {
+        EntityMovementScheduler movementScheduler = session.getEntityCache().getMovementScheduler();
+        if (movementScheduler != null) {
+            movementScheduler.flush(this);
+        }
+    }
+
     /**
      * Teleports an entity to a new location. Used in JavaTeleportEntityTranslator.
      * @param position The new position of the entity.
@@ -369,17 +405,36 @@ public class Entity implements GeyserEntity {
      * Updates a flag value and determines if the flags would need synced with the Bedrock client.
      */
     public final void setFlag(EntityFlag flag, boolean value) {
-        flagsDirty |= value ? this.flags.add(flag) : this.flags.remove(flag);
+        boolean changed = value ? this.flags.add(flag) : this.flags.remove(flag);
+        flagsDirty |= changed;
+        flagsChanged |= changed;
     }
 
     /**
-     * Sends the Bedrock metadata to the client
+     * Sends the Bedrock metadata to the client, or marks it to be sent at the end of the tick if metadata is batched
      */
     public void updateBedrockMetadata() {
         if (!isValid()) {
             return;
         }
 
+        boolean changed = dirtyMetadata.pollChanged() | flagsChanged;
+        flagsChanged = false;
+        if ((dirtyMetadata.hasEntries() || flagsDirty) && !session.getEntityCache().deferMetadata(this, changed)) {
+            sendBedrockMetadata();
+        }
+    }
+
+    /**
+     * Sends the changed Bedrock metadata to the client right away
+     *
+     * @return whether a packet was sent
+     */
+    public final boolean sendBedrockMetadata() {
+        if (!isValid()) {
+            return false;
+        }
+
         if (dirtyMetadata.hasEntries() || flagsDirty) {
             SetEntityDataPacket entityDataPacket = new SetEntityDataPacket();
             entityDataPacket.setRuntimeEntityId(geyserId);
@@ -393,7 +448,9 @@ public class Entity implements GeyserEntity {
                 propertyManager.applyFloatProperties(entityDataPacket.getProperties().getFloatProperties());
             }
             session.sendUpstreamPacket(entityDataPacket);
+            return true;
         }
+        return false;
     }
 
     /**
@@ -128,6 +128,7 @@ public class MinecartEntity extends Entity implements Tickable {
             entityMotionPacket.setRuntimeEntityId(geyserId);
             entityMotionPacket.setMotion(movement);
 
+            cancelDeferredMovement();
             session.sendUpstreamPacket(moveEntityPacket);
             session.sendUpstreamPacket(entityMotionPacket);
         }
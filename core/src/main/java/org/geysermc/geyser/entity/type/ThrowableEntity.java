@@ -108,6 +108,7 @@ public class ThrowableEntity extends Entity implements Tickable {
         }
 
         if (!moveEntityDeltaPacket.getFlags().isEmpty()) {
+            sendDeferredMovement();
             session.sendUpstreamPacket(moveEntityDeltaPacket);
         }
     }
@@ -75,6 +75,7 @@ public class SquidEntity extends AgeableWaterEntity implements Tickable {
                 packet.setYaw(yaw);
             }
 
+            sendDeferredMovement();
             session.sendUpstreamPacket(packet);
         }
     }
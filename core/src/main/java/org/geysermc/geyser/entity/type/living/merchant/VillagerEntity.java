@@ -159,6 +159,7 @@ public class VillagerEntity extends AbstractMerchantEntity {
         moveEntityPacket.setPosition(Vector3f.from(position.getX() + xOffset, position.getY(), position.getZ() + zOffset));
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(false);
+        cancelDeferredMovement();
         session.sendUpstreamPacket(moveEntityPacket);
     }
 
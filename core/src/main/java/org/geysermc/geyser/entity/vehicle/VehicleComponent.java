@@ -770,6 +770,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
         }
 
         if (!moveEntityDeltaPacket.getFlags().isEmpty()) {
+            vehicle.sendDeferredMovement();
             vehicle.getSession().sendUpstreamPacket(moveEntityDeltaPacket);
         }
 
@@ -69,6 +69,21 @@ public class GeyserWorldManager extends WorldManager {
         return future;
     }
 
+    @Override
+    public CompletableFuture<int[]> getBlocksAtAsync(GeyserSession session, Vector3i... positions) {
+        if (!session.getErosionHandler().isActive()) {
+            return super.getBlocksAtAsync(session, positions);
+        }
+        // Batch lookups over Erosion can only be done one at a time, so send single async lookups instead
+        int[] blocks = new int[positions.length];
+        CompletableFuture<?>[] futures = new CompletableFuture[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            int index = i;
+            futures[i] = getBlockAtAsync(session, positions[i]).thenAccept(block -> blocks[index] = block);
+        }
+        return CompletableFuture.allOf(futures).thenApply(v -> blocks);
+    }
+
     @Override
     public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
         var erosionHandler = session.getErosionHandler().getAsActive();
@@ -276,6 +276,13 @@ public enum MapColor {
     COLOR_247(67, 88, 79);
 
     private static final MapColor[] VALUES = values();
+    private static final int[] ABGR = new int[256];
+
+    static {
+        for (int i = 0; i < ABGR.length; i++) {
+            ABGR[i] = fromId(i).getABGR();
+        }
+    }
 
     private final int value;
 
@@ -301,4 +308,11 @@ public enum MapColor {
     public int getABGR() {
         return value;
     }
+
+    /**
+     * Shorthand for {@code MapColor.fromId(colorId & 0xFF).getABGR()}, for converting whole maps.
+     */
+    public static int toABGR(byte colorId) {
+        return ABGR[colorId & 0xFF];
+    }
 }
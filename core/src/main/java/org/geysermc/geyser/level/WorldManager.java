@@ -99,6 +99,22 @@ public abstract class WorldManager {
         return CompletableFuture.completedFuture(this.getBlockAt(session, x, y, z));
     }
 
+    /**
+     * Gets the Java block states at the specified locations without blocking the calling thread. Platforms that
+     * have to look blocks up on another thread should group the positions so as few tasks as possible are scheduled.
+     *
+     * @param session the session
+     * @param positions the positions to get the blocks at
+     * @return a future completed with the block state at each position, in the same order as the positions
+     */
+    public CompletableFuture<int[]> getBlocksAtAsync(GeyserSession session, Vector3i... positions) {
+        int[] blocks = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            blocks[i] = this.getBlockAt(session, positions[i]);
+        }
+        return CompletableFuture.completedFuture(blocks);
+    }
+
     public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
         int[] blocks = new int[iter.getMaxIterations()];
         for (; iter.hasNext(); iter.next()) {
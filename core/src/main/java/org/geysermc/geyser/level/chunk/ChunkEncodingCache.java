@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.IllegalReferenceCountException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.level.BedrockDimension;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache shared between all sessions that holds already-encoded Bedrock chunk payloads.
+ * Entries are content-addressed: two sessions receiving the same Java chunk column in the same dimension,
+ * with the same block mappings, will be handed the same payload buffer instead of translating it again.
+ * <p>
+ * Only chunk columns without Java block entities are stored, as block entity translation can depend on
+ * the session (locale, custom skulls) and can have side effects on it.
+ */
+public final class ChunkEncodingCache {
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    private final Cache<Key, Entry> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSizeMegabytes the maximum amount of encoded chunk data this cache holds, in megabytes
+     */
+    public ChunkEncodingCache(int maxSizeMegabytes) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeMegabytes * MEGABYTE)
+                .<Key, Entry>weigher((key, entry) -> entry.payload().capacity())
+                .removalListener(notification -> {
+                    if (notification.wasEvicted()) {
+                        evictions.increment();
+                    }
+                    Entry entry = notification.getValue();
+                    if (entry != null) {
+                        entry.payload().release();
+                    }
+                })
+                .concurrencyLevel(4)
+                .build();
+    }
+
+    /**
+     * Whether the chunk column sent in this packet can be served from, or stored in, this cache.
+     */
+    public static boolean isCacheable(ClientboundLevelChunkWithLightPacket packet) {
+        return packet.getBlockEntities().length == 0;
+    }
+
+    /**
+     * Builds the key that identifies the Bedrock encoding of this chunk column for this session.
+     * Everything that influences the encoded payload must be part of this key.
+     */
+    public static Key key(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, boolean extendedCollisions) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putBytes(packet.getChunkData());
+
+        // Biome IDs are remapped through the registry the server sent this session
+        List<Integer> biomes = session.getRegistryCache().registry(JavaRegistries.BIOME).values();
+        hasher.putInt(biomes.size());
+        for (Integer biome : biomes) {
+            hasher.putInt(biome == null ? -1 : biome);
+        }
+
+        BedrockDimension dimension = session.getBedrockDimension();
+        byte[] hash = hasher.hash().asBytes();
+        return new Key(toLong(hash, 0), toLong(hash, 8), packet.getChunkData().length,
+                packet.getX(), packet.getZ(),
+                session.getChunkCache().getChunkMinY(), session.getChunkCache().getChunkHeightY(),
+                dimension.bedrockId(), dimension.minY(), dimension.height(),
+                session.protocolVersion(), extendedCollisions);
+    }
+
+    /**
+     * Looks up an encoded payload. The payload buffer of the returned entry is a retained duplicate,
+     * so the caller is responsible for its release - usually by handing it to a packet.
+     *
+     * @return the cached entry, or null if this chunk column is not cached.
+     */
+    public @Nullable Entry retain(Key key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            try {
+                ByteBuf payload = entry.payload().retainedDuplicate();
+                hits.increment();
+                return new Entry(payload, entry.sectionCount());
+            } catch (IllegalReferenceCountException e) {
+                // Evicted between the lookup and the retain; treat it like any other miss
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a freshly encoded payload.
+     *
+     * @return a retained duplicate of the stored payload, to be sent by the caller.
+     */
+    public ByteBuf store(Key key, byte[] payload, int sectionCount) {
+        ByteBuf buffer = Unpooled.wrappedBuffer(payload);
+        ByteBuf duplicate = buffer.retainedDuplicate();
+        cache.put(key, new Entry(buffer, sectionCount));
+        return duplicate;
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    public record Key(long hashHigh, long hashLow, int dataLength, int chunkX, int chunkZ,
+                      int javaMinY, int javaHeight, int bedrockDimension, int bedrockMinY, int bedrockHeight,
+                      int protocolVersion, boolean extendedCollisions) {
+    }
+
+    /**
+     * @param payload the encoded chunk column, ready to be set as {@code LevelChunkPacket} data
+     * @param sectionCount the amount of sub chunks present in the payload
+     */
+    public record Entry(ByteBuf payload, int sectionCount) {
+    }
+}
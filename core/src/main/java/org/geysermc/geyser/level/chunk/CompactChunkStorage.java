@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayTranscoder;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Stores the block states of cached chunks as a palette and packed indices only, instead of full
+ * {@link DataPalette} objects. Packed index arrays are pooled by size, so forgetting a chunk hands its
+ * arrays to the next chunk that is loaded instead of leaving them to the garbage collector.
+ * <p>
+ * Not thread-safe; like the rest of the chunk cache this should only be used on the session event loop.
+ */
+public final class CompactChunkStorage {
+    /**
+     * Java never uses an indirect palette above this size for blocks.
+     */
+    private static final int MAX_PALETTE_SIZE = 256;
+    /**
+     * How many unused arrays are kept per array length.
+     */
+    private static final int MAX_POOLED_PER_SIZE = 32;
+
+    private final Long2ObjectMap<Section[]> columns = new Long2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<ArrayDeque<long[]>> pool = new Int2ObjectOpenHashMap<>();
+    private final int globalBits;
+
+    private long usedBytes;
+    private long pooledBytes;
+
+    public CompactChunkStorage(int blockStateCount) {
+        this.globalBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(blockStateCount - 1));
+    }
+
+    public void put(long chunkPosition, DataPalette[] sections) {
+        Section[] column = new Section[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            DataPalette palette = sections[i];
+            if (palette != null) {
+                column[i] = fromPalette(palette);
+            }
+        }
+        Section[] previous = columns.put(chunkPosition, column);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    public int get(long chunkPosition, int sectionIndex, int x, int y, int z) {
+        Section[] column = columns.get(chunkPosition);
+        if (column == null || sectionIndex < 0 || sectionIndex >= column.length) {
+            return Block.JAVA_AIR_ID;
+        }
+        Section section = column[sectionIndex];
+        if (section == null) {
+            return Block.JAVA_AIR_ID;
+        }
+        return section.get(index(x, y, z));
+    }
+
+    public void set(long chunkPosition, int sectionIndex, int x, int y, int z, int state) {
+        Section[] column = columns.get(chunkPosition);
+        if (column == null || sectionIndex < 0 || sectionIndex >= column.length) {
+            return;
+        }
+        Section section = column[sectionIndex];
+        if (section == null) {
+            if (state == Block.JAVA_AIR_ID) {
+                // Nothing to update
+                return;
+            }
+            section = singleton(Block.JAVA_AIR_ID);
+            column[sectionIndex] = section;
+        }
+        set(section, index(x, y, z), state);
+    }
+
+    public void remove(long chunkPosition) {
+        Section[] column = columns.remove(chunkPosition);
+        if (column != null) {
+            release(column);
+        }
+    }
+
+    /**
+     * @return the amount of columns removed
+     */
+    public int removeIf(LongPredicate predicate) {
+        int removed = 0;
+        ObjectIterator<Long2ObjectMap.Entry<Section[]>> iterator = Long2ObjectMaps.fastIterator(columns);
+        while (iterator.hasNext()) {
+            Long2ObjectMap.Entry<Section[]> entry = iterator.next();
+            if (predicate.test(entry.getLongKey())) {
+                release(entry.getValue());
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void clear() {
+        for (Section[] column : columns.values()) {
+            release(column);
+        }
+        columns.clear();
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * @return the bytes held by cached chunks, plus arrays pooled for reuse
+     */
+    public long memoryUsage() {
+        return usedBytes + pooledBytes;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y & 0xF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+    }
+
+    private Section fromPalette(DataPalette data) {
+        Palette palette = data.getPalette();
+        if (palette instanceof SingletonPalette || data.getStorage() == null) {
+            return singleton(palette.idToState(0));
+        }
+
+        int[] values = BitArrayTranscoder.unpack(data.getStorage());
+        if (palette instanceof GlobalPalette || palette.size() > MAX_PALETTE_SIZE) {
+            if (!(palette instanceof GlobalPalette)) {
+                for (int i = 0; i < BlockStorage.SIZE; i++) {
+                    values[i] = palette.idToState(values[i]);
+                }
+            }
+            Section section = new Section(null, 0, globalBits, allocate(globalBits));
+            pack(section, values);
+            return section;
+        }
+
+        int paletteSize = palette.size();
+        int[] states = new int[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            states[i] = palette.idToState(i);
+        }
+        usedBytes += states.length * 4L;
+        int bits = bitsFor(paletteSize);
+        Section section = new Section(states, paletteSize, bits, allocate(bits));
+        pack(section, values);
+        return section;
+    }
+
+    private Section singleton(int state) {
+        usedBytes += 4;
+        return new Section(new int[] {state}, 1, 0, null);
+    }
+
+    private void set(Section section, int index, int state) {
+        if (section.palette == null) {
+            section.setRaw(index, state);
+            return;
+        }
+
+        int paletteIndex = section.indexOf(state);
+        if (paletteIndex == -1) {
+            if (section.paletteSize >= (1 << section.bits)) {
+                resize(section, section.paletteSize + 1);
+                if (section.palette == null) {
+                    section.setRaw(index, state);
+                    return;
+                }
+            }
+            int previousLength = section.palette.length;
+            paletteIndex = section.add(state);
+            usedBytes += 4L * (section.palette.length - previousLength);
+        }
+        if (section.bits != 0) {
+            section.setRaw(index, paletteIndex);
+        }
+    }
+
+    /**
+     * Repacks a section so it can hold at least the given amount of palette entries, moving to global ids if
+     * that would exceed what Java allows in an indirect palette.
+     */
+    private void resize(Section section, int paletteSize) {
+        // Singleton sections have no data; every index is palette entry 0
+        int[] values = new int[BlockStorage.SIZE];
+        if (section.bits != 0) {
+            section.unpackTo(values);
+        }
+
+        long[] old = section.data;
+        if (paletteSize > MAX_PALETTE_SIZE) {
+            for (int i = 0; i < BlockStorage.SIZE; i++) {
+                values[i] = section.palette[values[i]];
+            }
+            usedBytes -= section.palette.length * 4L;
+            section.palette = null;
+            section.paletteSize = 0;
+            section.setBits(globalBits, allocate(globalBits));
+        } else {
+            int bits = bitsFor(paletteSize);
+            usedBytes -= section.palette.length * 4L;
+            section.palette = Arrays.copyOf(section.palette, 1 << bits);
+            usedBytes += section.palette.length * 4L;
+            section.setBits(bits, allocate(bits));
+        }
+        pack(section, values);
+        if (old != null) {
+            free(old);
+        }
+    }
+
+    private static void pack(Section section, int[] values) {
+        long[] data = section.data;
+        int bits = section.bits;
+        int valuesPerLong = section.valuesPerLong;
+        int index = 0;
+        for (int i = 0; i < data.length; i++) {
+            long word = 0;
+            int end = Math.min(index + valuesPerLong, BlockStorage.SIZE);
+            for (int shift = 0; index < end; index++, shift += bits) {
+                word |= (long) values[index] << shift;
+            }
+            data[i] = word;
+        }
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    private static int longsFor(int bits) {
+        int valuesPerLong = 64 / bits;
+        return (BlockStorage.SIZE + valuesPerLong - 1) / valuesPerLong;
+    }
+
+    private long[] allocate(int bits) {
+        int length = longsFor(bits);
+        usedBytes += length * 8L;
+        ArrayDeque<long[]> free = pool.get(length);
+        if (free != null) {
+            long[] pooled = free.poll();
+            if (pooled != null) {
+                pooledBytes -= length * 8L;
+                return pooled;
+            }
+        }
+        return new long[length];
+    }
+
+    private void free(long[] data) {
+        usedBytes -= data.length * 8L;
+        ArrayDeque<long[]> free = pool.computeIfAbsent(data.length, length -> new ArrayDeque<>());
+        if (free.size() < MAX_POOLED_PER_SIZE) {
+            free.add(data);
+            pooledBytes += data.length * 8L;
+        }
+    }
+
+    private void release(Section[] column) {
+        for (Section section : column) {
+            if (section == null) {
+                continue;
+            }
+            if (section.palette != null) {
+                usedBytes -= section.palette.length * 4L;
+            }
+            if (section.data != null) {
+                free(section.data);
+            }
+        }
+    }
+
+    private static final class Section {
+        /**
+         * Maps indices to Java block states, or null if indices are Java block states.
+         */
+        private int @Nullable [] palette;
+        private int paletteSize;
+        private int bits;
+        private int valuesPerLong;
+        private long mask;
+        private long @Nullable [] data;
+
+        private Section(int @Nullable [] palette, int paletteSize, int bits, long @Nullable [] data) {
+            this.palette = palette;
+            this.paletteSize = paletteSize;
+            setBits(bits, data);
+        }
+
+        private void setBits(int bits, long @Nullable [] data) {
+            this.bits = bits;
+            this.data = data;
+            this.valuesPerLong = bits == 0 ? 0 : 64 / bits;
+            this.mask = (1L << bits) - 1L;
+        }
+
+        private int get(int index) {
+            if (bits == 0) {
+                return palette[0];
+            }
+            int value = (int) (data[index / valuesPerLong] >>> ((index % valuesPerLong) * bits) & mask);
+            return palette == null ? value : palette[value];
+        }
+
+        private void setRaw(int index, int value) {
+            int wordIndex = index / valuesPerLong;
+            int shift = (index % valuesPerLong) * bits;
+            data[wordIndex] = data[wordIndex] & ~(mask << shift) | ((long) value & mask) << shift;
+        }
+
+        private void unpackTo(int[] out) {
+            for (int i = 0; i < BlockStorage.SIZE; i++) {
+                out[i] = (int) (data[i / valuesPerLong] >>> ((i % valuesPerLong) * bits) & mask);
+            }
+        }
+
+        private int indexOf(int state) {
+            for (int i = 0; i < paletteSize; i++) {
+                if (palette[i] == state) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the index the state was added at
+         */
+        private int add(int state) {
+            if (paletteSize == palette.length) {
+                palette = Arrays.copyOf(palette, Math.max(1 << bits, paletteSize + 1));
+            }
+            palette[paletteSize] = state;
+            return paletteSize++;
+        }
+    }
+}
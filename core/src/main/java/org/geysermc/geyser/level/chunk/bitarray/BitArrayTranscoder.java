@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk.bitarray;
+
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+
+import java.util.Arrays;
+
+/**
+ * Bulk conversion of Java chunk section data (YZX order, packed into longs) to Bedrock block storage
+ * (XZY order, packed into ints), without going through {@link BitStorage#get(int)} and {@link BitArray#set(int, int)}
+ * for every block.
+ */
+public final class BitArrayTranscoder {
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[BlockStorage.SIZE]);
+
+    /**
+     * Unpacks a full Java section into a scratch buffer owned by this thread, in YZX order.
+     * The buffer is reused by the next call on the same thread.
+     */
+    public static int[] unpack(BitStorage storage) {
+        int[] out = SCRATCH.get();
+        unpack(storage, out);
+        return out;
+    }
+
+    public static void unpack(BitStorage storage, int[] out) {
+        int bits = storage.getBitsPerEntry();
+        if (bits == 0) {
+            Arrays.fill(out, 0, BlockStorage.SIZE, 0);
+            return;
+        }
+        long[] data = storage.getData();
+        long mask = (1L << bits) - 1L;
+        // Java does not let entries span two longs, so any remaining bits at the top of each long are padding
+        int valuesPerLong = 64 / bits;
+
+        int index = 0;
+        for (int i = 0; i < data.length && index < BlockStorage.SIZE; i++) {
+            long word = data[i];
+            int end = Math.min(index + valuesPerLong, BlockStorage.SIZE);
+            while (index < end) {
+                out[index++] = (int) (word & mask);
+                word >>>= bits;
+            }
+        }
+    }
+
+    /**
+     * Writes YZX-ordered values into the given Bedrock bit array in XZY order.
+     * Values must fit within the bit array's version.
+     */
+    public static void transpose(int[] yzx, BitArray target) {
+        BitArrayVersion version = target.getVersion();
+        if (version == BitArrayVersion.V0) {
+            return;
+        }
+        int[] words = target.getWords();
+        int bits = version.bits;
+        int entriesPerWord = version.entriesPerWord;
+
+        int wordIndex = 0;
+        int word = 0;
+        int shift = 0;
+        int inWord = 0;
+        // Bedrock words are filled in XZY order; for each X, read the 16x16 Z/Y tile out of the YZX source
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int column = (z << 4) | x;
+                for (int y = 0; y < 16; y++) {
+                    word |= yzx[(y << 8) | column] << shift;
+                    shift += bits;
+                    if (++inWord == entriesPerWord) {
+                        words[wordIndex++] = word;
+                        word = 0;
+                        shift = 0;
+                        inWord = 0;
+                    }
+                }
+            }
+        }
+        if (inWord != 0) {
+            words[wordIndex] = word;
+        }
+    }
+
+    /**
+     * Converts a Java section into the given Bedrock bit array, changing coordinate order from YZX to XZY.
+     */
+    public static void transcode(BitStorage storage, BitArray target) {
+        transpose(unpack(storage), target);
+    }
+
+    private BitArrayTranscoder() {
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.tick.TickMonitor;
+import org.geysermc.geyser.skin.SkinProvider;
+import org.geysermc.geyser.util.PerformanceSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects Geyser's metrics for the exporter. Rates, such as packets per second, are left to the scraper, which
+ * derives them from the counters.
+ */
+public final class GeyserMetricsCollector implements Consumer<OpenMetricsWriter> {
+    private final GeyserImpl geyser;
+    private final ServerMetrics metrics;
+
+    public GeyserMetricsCollector(GeyserImpl geyser, ServerMetrics metrics) {
+        this.geyser = geyser;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void accept(OpenMetricsWriter writer) {
+        int connecting = 0;
+        int loggingIn = 0;
+        int loggedIn = 0;
+        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+            if (session.isLoggedIn()) {
+                loggedIn++;
+            } else if (session.isLoggingIn()) {
+                loggingIn++;
+            } else {
+                connecting++;
+            }
+        }
+        Map<String, Integer> sessions = new LinkedHashMap<>();
+        sessions.put("connecting", connecting);
+        sessions.put("logging_in", loggingIn);
+        sessions.put("logged_in", loggedIn);
+        writer.gauge("geyser_sessions", "Bedrock sessions by state", "state", sessions);
+
+        writer.counter("geyser_upstream_packets_received", "Bedrock packets received", metrics.upstreamPacketsIn())
+            .counter("geyser_upstream_packets_sent", "Bedrock packets sent", metrics.upstreamPacketsOut())
+            .counter("geyser_upstream_bytes_received", "Bytes received from Bedrock clients", metrics.upstreamBytesIn())
+            .counter("geyser_upstream_bytes_sent", "Bytes sent to Bedrock clients", metrics.upstreamBytesOut())
+            .counter("geyser_raknet_resent_datagrams", "RakNet datagrams resent because they weren't acknowledged in time", metrics.rakNetResends())
+            .counter("geyser_downstream_packets_received", "Java packets received", metrics.downstreamPacketsIn())
+            .counter("geyser_downstream_packets_sent", "Java packets sent", metrics.downstreamPacketsOut())
+            .counter("geyser_downstream_bytes_received", "Bytes received from Java servers", metrics.downstreamBytesIn())
+            .counter("geyser_downstream_bytes_sent", "Bytes sent to Java servers", metrics.downstreamBytesOut())
+            .summary("geyser_session_tick_duration_seconds", "Time taken by a session tick", metrics.tickDuration())
+            .summary("geyser_chunk_translation_duration_seconds", "Time taken to translate a chunk column", metrics.chunkTranslation())
+            .summary("geyser_skin_fetch_duration_seconds", "Time taken to download a skin, cape or player head", SkinProvider.getFetcher().latency());
+
+        PerformanceSnapshot snapshot = PerformanceSnapshot.capture(geyser);
+
+        List<TickMonitor.LoopSnapshot> playerThreads = snapshot.playerThreads();
+        if (playerThreads != null) {
+            Map<String, Double> tickSeconds = new LinkedHashMap<>();
+            for (TickMonitor.LoopSnapshot thread : playerThreads) {
+                tickSeconds.put(thread.name(), thread.tickNanosPerTick() / 1_000_000_000.0);
+            }
+            writer.gauge("geyser_player_thread_tick_seconds", "Average time a player thread spends ticking its sessions per tick", "thread", tickSeconds);
+        }
+
+        PerformanceSnapshot.ResourcePacks resourcePacks = snapshot.resourcePacks();
+        if (resourcePacks != null) {
+            writer.counter("geyser_resource_pack_bytes_sent", "Resource pack bytes sent to Bedrock clients", resourcePacks.sentBytes())
+                .counter("geyser_resource_pack_downloads", "Completed resource pack downloads", resourcePacks.completedDownloads())
+                .gauge("geyser_resource_pack_downloading_sessions", "Sessions currently downloading resource packs", resourcePacks.downloadingSessions());
+        }
+
+        PerformanceSnapshot.ChunkEncoding chunkEncoding = snapshot.chunkEncoding();
+        if (chunkEncoding != null) {
+            writer.counter("geyser_chunk_encoding_cache_hits", "Chunk columns encoded by another session", chunkEncoding.hits())
+                .counter("geyser_chunk_encoding_cache_misses", "Chunk columns that had to be encoded", chunkEncoding.misses());
+        }
+
+        PerformanceSnapshot.Pings pings = snapshot.pings();
+        if (pings != null) {
+            writer.counter("geyser_pings_cached", "Pings answered from the cached response", pings.served() + pings.stale())
+                .counter("geyser_ping_refreshes", "Times the cached ping response was refreshed", pings.refreshed());
+        }
+
+        PerformanceSnapshot.Batching batching = snapshot.batching();
+        if (batching != null) {
+            writer.counter("geyser_entity_metadata_packets_saved", "Entity metadata packets merged into others sent in the same tick", batching.metadataPacketsSaved())
+                .gauge("geyser_entity_move_packets_saved", "Move packets of far away entities merged into later moves, by online sessions", batching.movementPacketsSaved());
+        }
+
+        PerformanceSnapshot.Compression compression = snapshot.compression();
+        if (compression != null) {
+            // The breakdown per player is only shown by /geyser perf, to keep player names off the exporter
+            writer.gauge("geyser_compression_uncompressed_bytes", "Bytes sent to Bedrock clients before compression, by online sessions", compression.uncompressedBytes())
+                .gauge("geyser_compression_compressed_bytes", "Bytes sent to Bedrock clients after compression, by online sessions", compression.compressedBytes())
+                .gauge("geyser_compression_seconds", "Time spent compressing batches for Bedrock clients, by online sessions", compression.nanos() / 1_000_000_000.0)
+                .gauge("geyser_compression_skipped_batches", "Batches sent uncompressed since they were below the threshold, by online sessions", compression.uncompressedBatches());
+        }
+
+        PerformanceSnapshot.SharedData sharedData = snapshot.sharedData();
+        writer.counter("geyser_command_tree_cache_hits", "Command trees that were already translated for another session", sharedData.commandTreeHits())
+            .counter("geyser_command_tree_cache_misses", "Command trees that had to be translated", sharedData.commandTreeMisses())
+            .counter("geyser_recipe_cache_hits", "Recipes that were already translated for another session", sharedData.recipeHits())
+            .counter("geyser_recipe_cache_misses", "Recipes that had to be translated", sharedData.recipeMisses());
+
+        PerformanceSnapshot.Logins logins = snapshot.logins();
+        if (logins != null) {
+            writer.counter("geyser_logins_verified", "Bedrock logins verified successfully", logins.verified())
+                .counter("geyser_logins_failed", "Bedrock logins that failed verification", logins.failed())
+                .gauge("geyser_logins_queued", "Bedrock logins waiting to be verified", logins.queued());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.util.LatencyHistogram;
+
+import java.util.Map;
+
+/**
+ * Writes metrics in the OpenMetrics text format. Every metric family must be written in one go, and names must
+ * already be valid OpenMetrics names.
+ */
+public final class OpenMetricsWriter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final StringBuilder builder = new StringBuilder(4096);
+
+    public OpenMetricsWriter counter(String name, String help, long value) {
+        header(name, "counter", help);
+        builder.append(name).append("_total ").append(value).append('\n');
+        return this;
+    }
+
+    public OpenMetricsWriter gauge(String name, String help, double value) {
+        header(name, "gauge", help);
+        sample(name, null, null, value);
+        return this;
+    }
+
+    /**
+     * Writes a gauge with one sample for each value of the given label.
+     */
+    public OpenMetricsWriter gauge(String name, String help, String label, Map<String, ? extends Number> values) {
+        header(name, "gauge", help);
+        for (Map.Entry<String, ? extends Number> entry : values.entrySet()) {
+            sample(name, label, entry.getKey(), entry.getValue().doubleValue());
+        }
+        return this;
+    }
+
+    /**
+     * Writes the recorded durations as a summary in seconds. The name must end with {@code _seconds}.
+     */
+    public OpenMetricsWriter summary(String name, String help, LatencyHistogram histogram) {
+        header(name, "summary", help);
+        builder.append("# UNIT ").append(name).append(" seconds\n");
+        for (double quantile : QUANTILES) {
+            sample(name, "quantile", Double.toString(quantile), histogram.percentile(quantile) / 1_000_000_000.0);
+        }
+        builder.append(name).append("_count ").append(histogram.count()).append('\n');
+        return this;
+    }
+
+    /**
+     * @return the written metrics, terminated as the format requires
+     */
+    public String finish() {
+        return builder + "# EOF\n";
+    }
+
+    private void header(String name, String type, String help) {
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private void sample(String name, @Nullable String label, @Nullable String labelValue, double value) {
+        builder.append(name);
+        if (label != null) {
+            builder.append('{').append(label).append("=\"").append(escape(labelValue)).append("\"}");
+        }
+        builder.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
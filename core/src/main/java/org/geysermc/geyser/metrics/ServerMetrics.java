@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.cloudburstmc.netty.channel.raknet.config.RakMetrics;
+import org.geysermc.geyser.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traffic and timing counters for the metrics exporter. Only exists while the exporter is enabled.
+ * <p>
+ * Every counter is lock-free, so the event loops never wait on a scrape.
+ */
+public final class ServerMetrics {
+    private final LongAdder upstreamPacketsIn = new LongAdder();
+    private final LongAdder upstreamPacketsOut = new LongAdder();
+    private final LongAdder upstreamBytesIn = new LongAdder();
+    private final LongAdder upstreamBytesOut = new LongAdder();
+    private final LongAdder rakNetResends = new LongAdder();
+
+    private final LongAdder downstreamPacketsIn = new LongAdder();
+    private final LongAdder downstreamPacketsOut = new LongAdder();
+    private final LongAdder downstreamBytesIn = new LongAdder();
+    private final LongAdder downstreamBytesOut = new LongAdder();
+
+    private final LatencyHistogram tickDuration = new LatencyHistogram();
+    private final LatencyHistogram chunkTranslation = new LatencyHistogram();
+
+    private final RakMetrics rakMetrics = new RakMetrics() {
+        @Override
+        public void bytesIn(int count) {
+            upstreamBytesIn.add(count);
+        }
+
+        @Override
+        public void bytesOut(int count) {
+            upstreamBytesOut.add(count);
+        }
+
+        @Override
+        public void rakStaleDatagrams(int count) {
+            rakNetResends.add(count);
+        }
+    };
+
+    private final ChannelHandler downstreamByteCounter = new DownstreamByteCounter();
+
+    public void upstreamPacketIn() {
+        upstreamPacketsIn.increment();
+    }
+
+    public void upstreamPacketOut() {
+        upstreamPacketsOut.increment();
+    }
+
+    public void downstreamPacketIn() {
+        downstreamPacketsIn.increment();
+    }
+
+    public void downstreamPacketOut() {
+        downstreamPacketsOut.increment();
+    }
+
+    public void recordTick(long nanos) {
+        tickDuration.record(nanos);
+    }
+
+    public void recordChunkTranslation(long nanos) {
+        chunkTranslation.record(nanos);
+    }
+
+    /**
+     * @return the RakNet hook that counts Bedrock traffic and resent datagrams
+     */
+    public RakMetrics rakMetrics() {
+        return rakMetrics;
+    }
+
+    /**
+     * @return a handler that counts the bytes of a Java connection, once added to the start of its pipeline
+     */
+    public ChannelHandler downstreamByteCounter() {
+        return downstreamByteCounter;
+    }
+
+    public long upstreamPacketsIn() {
+        return upstreamPacketsIn.sum();
+    }
+
+    public long upstreamPacketsOut() {
+        return upstreamPacketsOut.sum();
+    }
+
+    public long upstreamBytesIn() {
+        return upstreamBytesIn.sum();
+    }
+
+    public long upstreamBytesOut() {
+        return upstreamBytesOut.sum();
+    }
+
+    public long rakNetResends() {
+        return rakNetResends.sum();
+    }
+
+    public long downstreamPacketsIn() {
+        return downstreamPacketsIn.sum();
+    }
+
+    public long downstreamPacketsOut() {
+        return downstreamPacketsOut.sum();
+    }
+
+    public long downstreamBytesIn() {
+        return downstreamBytesIn.sum();
+    }
+
+    public long downstreamBytesOut() {
+        return downstreamBytesOut.sum();
+    }
+
+    public LatencyHistogram tickDuration() {
+        return tickDuration;
+    }
+
+    public LatencyHistogram chunkTranslation() {
+        return chunkTranslation;
+    }
+
+    @ChannelHandler.Sharable
+    private final class DownstreamByteCounter extends ChannelDuplexHandler {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof ByteBuf buf) {
+                downstreamBytesIn.add(buf.readableBytes());
+            }
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            if (msg instanceof ByteBuf buf) {
+                downstreamBytesOut.add(buf.readableBytes());
+            }
+            ctx.write(msg, promise);
+        }
+    }
+}
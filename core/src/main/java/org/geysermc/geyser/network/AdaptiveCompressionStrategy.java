@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.cloudburstmc.protocol.bedrock.data.CompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.BatchCompression;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.CompressionStrategy;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.NoopCompression;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.SnappyCompression;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.ZlibCompression;
+import org.cloudburstmc.protocol.common.util.Zlib;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks how to compress each batch sent to a Bedrock client, instead of deflating every batch at the configured level.
+ * <p>
+ * Batches below the threshold, such as a single movement packet, are sent uncompressed, since deflate would spend more
+ * time setting up than it saves. Larger batches use the configured level, which is lowered while compressing takes up a
+ * large share of the network thread's time, and raised by one for very large batches (such as chunks) while the thread
+ * has time to spare. Clients that were told to use Snappy get Snappy instead, which has no levels.
+ * <p>
+ * Each session has its own strategy, which is only used from the session's network thread.
+ */
+public final class AdaptiveCompressionStrategy implements CompressionStrategy {
+    /**
+     * Batches at least this large are compressed one level higher while the network thread isn't busy.
+     */
+    private static final int LARGE_BATCH = 64 * 1024;
+    /**
+     * The share of the network thread's time spent compressing at which levels start being lowered.
+     */
+    private static final double HIGH_LOAD = 0.3;
+    /**
+     * The share of the network thread's time spent compressing below which levels are raised again.
+     */
+    private static final double LOW_LOAD = 0.1;
+    private static final long LOAD_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Compression sessions share their network thread with others, so the load is measured per thread.
+     */
+    private static final FastThreadLocal<ThreadLoad> THREAD_LOAD = new FastThreadLocal<>() {
+        @Override
+        protected ThreadLoad initialValue() {
+            return new ThreadLoad();
+        }
+    };
+
+    private final PacketCompressionAlgorithm algorithm;
+    private final int threshold;
+    private final int level;
+
+    private final MeasuredCompression none = new MeasuredCompression(new NoopCompression());
+    private final MeasuredCompression snappy = new MeasuredCompression(new SnappyCompression());
+    /**
+     * One zlib compression per level, so changing levels doesn't change the state of a compression in use.
+     */
+    private final MeasuredCompression[] zlib = new MeasuredCompression[10];
+
+    private volatile long uncompressedBytes;
+    private volatile long compressedBytes;
+    private volatile long compressionNanos;
+    private volatile long batches;
+    private volatile long uncompressedBatches;
+
+    /**
+     * @param algorithm the algorithm the client was told to use, either zlib or Snappy
+     * @param threshold batches smaller than this many bytes are sent uncompressed
+     * @param level the configured zlib level, which is only changed by the strategy if it's between 1 and 9. Levels
+     *              above 9 are treated as 9, and negative levels as zlib's default
+     */
+    public AdaptiveCompressionStrategy(PacketCompressionAlgorithm algorithm, int threshold, int level) {
+        this.algorithm = algorithm;
+        this.threshold = threshold;
+        this.level = Math.min(level, 9);
+        for (int i = 0; i < zlib.length; i++) {
+            ZlibCompression compression = new ZlibCompression(Zlib.RAW);
+            compression.setLevel(i);
+            zlib[i] = new MeasuredCompression(compression);
+        }
+    }
+
+    @Override
+    public BatchCompression getCompression(BedrockBatchWrapper wrapper) {
+        int size = wrapper.getUncompressed().readableBytes();
+        if (size < threshold) {
+            return none;
+        }
+        if (algorithm == PacketCompressionAlgorithm.SNAPPY) {
+            return snappy;
+        }
+        if (level < 1) {
+            // Compression is disabled, or left to zlib's default
+            return getDefaultCompression();
+        }
+
+        ThreadLoad load = THREAD_LOAD.get();
+        load.update();
+        int level = Math.min(this.level, load.maxLevel);
+        if (size >= LARGE_BATCH && load.load < LOW_LOAD) {
+            level++;
+        }
+        return zlib[Math.max(1, Math.min(level, 9))];
+    }
+
+    @Override
+    public BatchCompression getCompression(CompressionAlgorithm algorithm) {
+        // Used to decompress what the client sent, which can use a different algorithm than the one it was told to use
+        if (algorithm == PacketCompressionAlgorithm.NONE) {
+            return none;
+        }
+        if (algorithm == PacketCompressionAlgorithm.SNAPPY) {
+            return snappy;
+        }
+        if (algorithm == PacketCompressionAlgorithm.ZLIB) {
+            // The level doesn't matter for decompressing
+            return zlib[6];
+        }
+        return getDefaultCompression();
+    }
+
+    @Override
+    public BatchCompression getDefaultCompression() {
+        if (algorithm == PacketCompressionAlgorithm.SNAPPY) {
+            return snappy;
+        }
+        return level < 0 ? zlib[6] : zlib[level];
+    }
+
+    /**
+     * @return how many bytes were sent to the client before compression
+     */
+    public long uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    /**
+     * @return how many bytes were sent to the client after compression
+     */
+    public long compressedBytes() {
+        return compressedBytes;
+    }
+
+    /**
+     * @return how long was spent compressing batches for the client, in nanoseconds
+     */
+    public long compressionNanos() {
+        return compressionNanos;
+    }
+
+    /**
+     * @return how many batches were sent to the client
+     */
+    public long batches() {
+        return batches;
+    }
+
+    /**
+     * @return how many batches were sent without compressing them, since they were below the threshold
+     */
+    public long uncompressedBatches() {
+        return uncompressedBatches;
+    }
+
+    /**
+     * @return the compressed size of the sent batches, relative to their uncompressed size
+     */
+    public double ratio() {
+        long uncompressed = uncompressedBytes;
+        return uncompressed == 0 ? 1 : (double) compressedBytes / uncompressed;
+    }
+
+    private final class MeasuredCompression implements BatchCompression {
+        private final BatchCompression compression;
+
+        private MeasuredCompression(BatchCompression compression) {
+            this.compression = compression;
+        }
+
+        @Override
+        public ByteBuf encode(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+            int size = msg.readableBytes();
+            long start = System.nanoTime();
+            ByteBuf encoded = compression.encode(ctx, msg);
+            long nanos = System.nanoTime() - start;
+
+            // Only written from the session's network thread
+            uncompressedBytes += size;
+            compressedBytes += encoded.readableBytes();
+            compressionNanos += nanos;
+            batches++;
+            if (this == none) {
+                uncompressedBatches++;
+            } else {
+                THREAD_LOAD.get().nanos += nanos;
+            }
+            return encoded;
+        }
+
+        @Override
+        public ByteBuf decode(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+            return compression.decode(ctx, msg);
+        }
+
+        @Override
+        public CompressionAlgorithm getAlgorithm() {
+            return compression.getAlgorithm();
+        }
+
+        @Override
+        public void setLevel(int level) {
+            compression.setLevel(level);
+        }
+
+        @Override
+        public int getLevel() {
+            return compression.getLevel();
+        }
+    }
+
+    /**
+     * How much of a network thread's time was spent compressing batches, over the last second.
+     */
+    private static final class ThreadLoad {
+        private long windowStart = System.nanoTime();
+        private long nanos;
+        private double load;
+        /**
+         * The highest zlib level batches on this thread may currently use.
+         */
+        private int maxLevel = 9;
+
+        private void update() {
+            long now = System.nanoTime();
+            long elapsed = now - windowStart;
+            if (elapsed < LOAD_WINDOW_NANOS) {
+                return;
+            }
+            load = (double) nanos / elapsed;
+            nanos = 0;
+            windowStart = now;
+
+            if (load > HIGH_LOAD) {
+                maxLevel = Math.max(1, maxLevel - 1);
+            } else if (load < LOW_LOAD) {
+                maxLevel = Math.min(9, maxLevel + 1);
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ package org.geysermc.geyser.network;
 
 import io.netty.channel.Channel;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -36,6 +37,7 @@ import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec;
 import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockServerInitializer;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.tick.TickMonitor;
 
 import java.net.InetSocketAddress;
 
@@ -60,7 +62,14 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
             }
 
             bedrockServerSession.setLogging(true);
-            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, this.eventLoopGroup.next());
+            TickMonitor tickMonitor = this.geyser.getTickMonitor();
+            EventLoop eventLoop;
+            if (tickMonitor != null && this.geyser.getConfig().isBalancePlayerThreads()) {
+                eventLoop = tickMonitor.leastLoaded(this.eventLoopGroup);
+            } else {
+                eventLoop = this.eventLoopGroup.next();
+            }
+            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, eventLoop);
 
             Channel channel = bedrockServerSession.getPeer().getChannel();
             channel.pipeline().addAfter(BedrockPacketCodec.NAME, InvalidPacketHandler.NAME, new InvalidPacketHandler(session));
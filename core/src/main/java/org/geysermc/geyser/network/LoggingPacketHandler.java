@@ -28,6 +28,7 @@ package org.geysermc.geyser.network;
 import org.cloudburstmc.protocol.bedrock.packet.*;
 import org.cloudburstmc.protocol.common.PacketSignal;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.metrics.ServerMetrics;
 import org.geysermc.geyser.session.GeyserSession;
 
 /**
@@ -45,6 +46,15 @@ public class LoggingPacketHandler implements BedrockPacketHandler {
         this.session = session;
     }
 
+    @Override
+    public PacketSignal handlePacket(BedrockPacket packet) {
+        ServerMetrics metrics = geyser.getServerMetrics();
+        if (metrics != null) {
+            metrics.upstreamPacketIn();
+        }
+        return BedrockPacketHandler.super.handlePacket(packet);
+    }
+
     PacketSignal defaultHandler(BedrockPacket packet) {
         geyser.getLogger().debug("Handled packet: " + packet.getClass().getSimpleName());
         return PacketSignal.HANDLED;
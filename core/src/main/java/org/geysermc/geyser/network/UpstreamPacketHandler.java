@@ -25,7 +25,6 @@
 
 package org.geysermc.geyser.network;
 
-import io.netty.buffer.Unpooled;
 import org.cloudburstmc.math.vector.Vector2f;
 import org.cloudburstmc.protocol.bedrock.BedrockDisconnectReasons;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
@@ -61,8 +60,10 @@ import org.geysermc.geyser.api.pack.PackCodec;
 import org.geysermc.geyser.api.pack.ResourcePack;
 import org.geysermc.geyser.api.pack.ResourcePackManifest;
 import org.geysermc.geyser.api.pack.option.ResourcePackOption;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.event.type.SessionLoadResourcePacksEventImpl;
 import org.geysermc.geyser.pack.GeyserResourcePack;
+import org.geysermc.geyser.pack.ResourcePackChunks;
 import org.geysermc.geyser.pack.ResourcePackHolder;
 import org.geysermc.geyser.pack.url.GeyserUrlPackCodec;
 import org.geysermc.geyser.registry.BlockRegistries;
@@ -70,14 +71,12 @@ import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.loader.ResourcePackLoader;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
+import org.geysermc.geyser.session.auth.LoginVerifier;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.util.LoginEncryptionUtils;
-import org.geysermc.geyser.util.MathUtils;
 import org.geysermc.geyser.util.VersionCheckUtils;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.OptionalInt;
@@ -92,19 +91,34 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     private boolean receivedLoginPacket = false;
     private boolean finishedResourcePackSending = false;
     private final Deque<String> packsToSend = new ArrayDeque<>();
+    private final PacketCompressionAlgorithm compressionAlgorithm;
     private final CompressionStrategy compressionStrategy;
     // Avoid overloading consoles when downloading larger resource packs
     private static final int PACKET_SEND_DELAY = 4 * 50;
     private final Queue<ResourcePackChunkRequestPacket> chunkRequestQueue = new ConcurrentLinkedQueue<>();
     private boolean currentlySendingChunks = false;
+    /**
+     * When the client started downloading packs, or -1 if it has not.
+     */
+    private long packDownloadStart = -1;
     private SessionLoadResourcePacksEventImpl resourcePackLoadEvent;
 
     public UpstreamPacketHandler(GeyserImpl geyser, GeyserSession session) {
         super(geyser, session);
 
-        ZlibCompression compression = new ZlibCompression(Zlib.RAW);
-        compression.setLevel(this.geyser.getConfig().getBedrock().getCompressionLevel());
-        this.compressionStrategy = new SimpleCompressionStrategy(compression);
+        GeyserConfiguration.IBedrockConfiguration config = this.geyser.getConfig().getBedrock();
+        if (config.isAdaptiveCompression()) {
+            this.compressionAlgorithm = config.isSnappyCompression() ? PacketCompressionAlgorithm.SNAPPY : PacketCompressionAlgorithm.ZLIB;
+            AdaptiveCompressionStrategy strategy = new AdaptiveCompressionStrategy(compressionAlgorithm,
+                config.getCompressionThreshold(), config.getCompressionLevel());
+            session.getUpstream().setCompression(strategy);
+            this.compressionStrategy = strategy;
+        } else {
+            this.compressionAlgorithm = PacketCompressionAlgorithm.ZLIB;
+            ZlibCompression compression = new ZlibCompression(Zlib.RAW);
+            compression.setLevel(config.getCompressionLevel());
+            this.compressionStrategy = new SimpleCompressionStrategy(compression);
+        }
     }
 
     private PacketSignal translateAndDefault(BedrockPacket packet) {
@@ -168,10 +182,8 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         }
 
         // New since 1.19.30 - sent before login packet
-        PacketCompressionAlgorithm algorithm = PacketCompressionAlgorithm.ZLIB;
-
         NetworkSettingsPacket responsePacket = new NetworkSettingsPacket();
-        responsePacket.setCompressionAlgorithm(algorithm);
+        responsePacket.setCompressionAlgorithm(compressionAlgorithm);
         responsePacket.setCompressionThreshold(512);
         session.sendUpstreamPacketImmediately(responsePacket);
         session.getUpstream().getSession().getPeer().setCompression(compressionStrategy);
@@ -209,8 +221,38 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         session.setBlockMappings(BlockRegistries.BLOCKS.forVersion(loginPacket.getProtocolVersion()));
         session.setItemMappings(Registries.ITEMS.forVersion(loginPacket.getProtocolVersion()));
 
-        LoginEncryptionUtils.encryptPlayerConnection(session, loginPacket);
+        LoginVerifier loginVerifier = geyser.getLoginVerifier();
+        if (loginVerifier == null) {
+            LoginEncryptionUtils.encryptPlayerConnection(session, loginPacket);
+            return finishLogin();
+        }
 
+        // Verify the login off the network thread, then continue here once done
+        loginVerifier.verify(loginPacket, geyser.getConfig().isEnableProxyConnections())
+            .whenCompleteAsync((login, throwable) -> {
+                if (session.isClosed()) {
+                    return;
+                }
+                if (throwable != null) {
+                    session.disconnect("disconnectionScreen.internalError.cantConnect");
+                    geyser.getLogger().error("Unable to complete login", throwable);
+                    return;
+                }
+                try {
+                    LoginEncryptionUtils.applyVerifiedLogin(session, loginPacket, login);
+                    finishLogin();
+                } catch (Throwable t) {
+                    session.disconnect("disconnectionScreen.internalError.cantConnect");
+                    geyser.getLogger().error("Unable to complete login", t);
+                }
+            }, session.getUpstream().getSession().getPeer().getChannel().eventLoop());
+        return PacketSignal.HANDLED;
+    }
+
+    /**
+     * Continues the login once the player's chain and client data have been verified.
+     */
+    private PacketSignal finishLogin() {
         if (session.isClosed()) {
             // Can happen if Xbox validation fails
             return PacketSignal.HANDLED;
@@ -280,9 +322,15 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
                     return PacketSignal.HANDLED;
                 }
                 packsToSend.addAll(packet.getPackIds());
+                packDownloadStart = System.nanoTime();
                 sendPackDataInfo(packsToSend.pop());
             }
             case HAVE_ALL_PACKS -> {
+                if (packDownloadStart != -1) {
+                    geyser.getResourcePackUploadScheduler().recordDownload(System.nanoTime() - packDownloadStart);
+                    packDownloadStart = -1;
+                }
+
                 ResourcePackStackPacket stackPacket = new ResourcePackStackPacket();
                 stackPacket.setExperimentsPreviouslyToggled(false);
                 stackPacket.setForcedToAccept(false); // Leaving this as false allows the player to choose to download or not
@@ -358,22 +406,43 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         // Resolve some console pack downloading issues.
         // See <https://github.com/PowerNukkitX/PowerNukkitX/pull/1997> for reference
         chunkRequestQueue.add(packet);
-        if (isConsole()) {
-            if (!currentlySendingChunks) {
-                currentlySendingChunks = true;
+        if (!currentlySendingChunks) {
+            currentlySendingChunks = true;
+            if (isConsole()) {
                 processNextChunk();
+            } else {
+                // Clients request several chunks at once, which are read in the same turn of the event loop. Answering
+                // them in the next turn lets all of them be flushed together.
+                session.getUpstream().getSession().getPeer().getChannel().eventLoop().execute(this::processNextChunk);
             }
-        } else {
-            processNextChunk();
         }
         return PacketSignal.HANDLED;
     }
 
     public void processNextChunk() {
+        if (isConsole()) {
+            if (sendNextChunk(true)) {
+                GeyserImpl.getInstance().getScheduledThread().schedule(this::processNextChunk, PACKET_SEND_DELAY, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+
+        // Answer every request that arrived since this was scheduled in one go, so the chunks are flushed together
+        boolean sent;
+        do {
+            sent = sendNextChunk(false);
+        } while (sent);
+    }
+
+    /**
+     * @param immediately whether to flush the chunk right away
+     * @return true if a chunk was sent
+     */
+    private boolean sendNextChunk(boolean immediately) {
         ResourcePackChunkRequestPacket packet = chunkRequestQueue.poll();
         if (packet == null || session.isClosed()) {
             currentlySendingChunks = false;
-            return;
+            return false;
         }
 
         ResourcePackHolder holder = this.resourcePackLoadEvent.getPacks().get(packet.getPackId());
@@ -382,7 +451,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
                 session.bedrockUsername(), packet.getPackId());
             chunkRequestQueue.clear();
             session.disconnect("disconnectionScreen.resourcePack");
-            return;
+            return false;
         }
 
         PackCodec codec = holder.codec();
@@ -392,13 +461,13 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             if (!resourcePackLoadEvent.value(holder.uuid(), ResourcePackOption.Type.FALLBACK, true)) {
                 session.disconnect("Unable to provide downloaded resource pack. Contact an administrator!");
                 chunkRequestQueue.clear();
-                return;
+                return false;
             }
         } else if (finishedResourcePackSending) {
             GeyserImpl.getInstance().getLogger().warning("Received resource pack chunk packet after stage completed! " + packet);
             session.disconnect("Duplicate resource pack packet received!");
             chunkRequestQueue.clear();
-            return;
+            return false;
         }
 
         ResourcePackChunkDataPacket data = new ResourcePackChunkDataPacket();
@@ -407,33 +476,24 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         data.setPackVersion(packet.getPackVersion());
         data.setPackId(packet.getPackId());
 
-        int offset = packet.getChunkIndex() * GeyserResourcePack.CHUNK_SIZE;
-        long remainingSize = codec.size() - offset;
-        byte[] packData = new byte[(int) MathUtils.constrain(remainingSize, 0, GeyserResourcePack.CHUNK_SIZE)];
-
-        try (SeekableByteChannel channel = codec.serialize()) {
-            channel.position(offset);
-            channel.read(ByteBuffer.wrap(packData, 0, packData.length));
+        long remainingSize = codec.size() - (long) packet.getChunkIndex() * GeyserResourcePack.CHUNK_SIZE;
+        try {
+            data.setData(ResourcePackChunks.read(codec, packet.getChunkIndex()));
         } catch (IOException e) {
             session.disconnect("disconnectionScreen.resourcePack");
             e.printStackTrace();
+            chunkRequestQueue.clear();
+            return false;
         }
 
-        data.setData(Unpooled.wrappedBuffer(packData));
-
-        if (isConsole()) {
-            // Also flushes packets
-            // Avoids bursting slower / delayed clients
-            session.sendUpstreamPacketImmediately(data);
-            GeyserImpl.getInstance().getScheduledThread().schedule(this::processNextChunk, PACKET_SEND_DELAY, TimeUnit.MILLISECONDS);
-        } else {
-            session.sendUpstreamPacket(data);
-        }
+        // Flushing immediately avoids bursting slower / delayed clients
+        geyser.getResourcePackUploadScheduler().send(session, data, immediately);
 
         // Check if it is the last chunk and send next pack in queue when available.
         if (remainingSize <= GeyserResourcePack.CHUNK_SIZE && !packsToSend.isEmpty()) {
             sendPackDataInfo(packsToSend.pop());
         }
+        return true;
     }
 
     private void sendPackDataInfo(String id) {
@@ -470,8 +530,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         ResourcePackManifest.Header header = pack.manifest().header();
 
         data.setPackId(header.uuid());
-        int chunkCount = (int) Math.ceil(codec.size() / (double) GeyserResourcePack.CHUNK_SIZE);
-        data.setChunkCount(chunkCount);
+        data.setChunkCount(ResourcePackChunks.count(codec));
         data.setCompressedPackSize(codec.size());
         data.setMaxChunkSize(GeyserResourcePack.CHUNK_SIZE);
         data.setHash(codec.sha256());
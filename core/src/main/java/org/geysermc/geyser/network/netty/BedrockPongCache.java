@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.event.connection.GeyserBedrockPingEvent;
+import org.geysermc.geyser.command.defaults.ConnectionTestCommand;
+import org.geysermc.geyser.ping.GeyserPingInfo;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers Bedrock pings from a cached, pre-encoded pong, so server list scrapers don't cause a ping passthrough
+ * request (and with it, an event on the platform) for every single ping.
+ * <p>
+ * Once the cached response is older than the configured interval, it is still served while a new one is fetched
+ * on the scheduled thread. Since that fetch isn't tied to a ping, the platform sees the address of the most recent
+ * pinger.
+ */
+public final class BedrockPongCache {
+    private final GeyserImpl geyser;
+    private final GeyserServer server;
+    private final long intervalNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile @Nullable Entry entry;
+    private volatile InetSocketAddress lastAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder refreshed = new LongAdder();
+
+    BedrockPongCache(GeyserImpl geyser, GeyserServer server, int intervalMillis) {
+        this.geyser = geyser;
+        this.server = server;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    ByteBuf get(Channel channel, InetSocketAddress address) {
+        this.lastAddress = address;
+
+        Entry entry = this.entry;
+        if (entry == null) {
+            // Nothing to serve yet, so the very first ping has to wait for the passthrough
+            entry = refresh(address);
+        } else if (System.nanoTime() - entry.refreshedAt() > intervalNanos) {
+            stale.increment();
+            scheduleRefresh();
+        } else {
+            served.increment();
+        }
+
+        if (entry.hasPingListeners() || ConnectionTestCommand.CONNECTION_TEST_MOTD != null) {
+            // Extensions may change the pong for each pinger, so only the passthrough info can be shared
+            return server.createPong(channel, address, entry.pingInfo()).toByteBuf();
+        }
+
+        // Every listener has its own GUID, which is part of the pong
+        long guid = channel.config().getOption(RakChannelOption.RAK_GUID);
+        Entry current = entry;
+        byte[] data = entry.encoded().computeIfAbsent(guid, key -> {
+            ByteBuf pong = server.createPong(channel, address, current.pingInfo()).toByteBuf();
+            try {
+                return ByteBufUtil.getBytes(pong);
+            } finally {
+                pong.release();
+            }
+        });
+        return Unpooled.wrappedBuffer(data);
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        geyser.getScheduledThread().execute(() -> {
+            try {
+                refresh(this.lastAddress);
+            } catch (Throwable t) {
+                geyser.getLogger().debug("Failed to refresh the cached ping response: " + t);
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private Entry refresh(InetSocketAddress address) {
+        GeyserPingInfo pingInfo = server.queryPingInformation(address);
+        boolean hasPingListeners = !geyser.eventBus().subscribers(GeyserBedrockPingEvent.class).isEmpty();
+        Entry entry = new Entry(pingInfo, hasPingListeners, System.nanoTime(), new ConcurrentHashMap<>());
+        this.entry = entry;
+        refreshed.increment();
+        return entry;
+    }
+
+    /**
+     * @return how many pings were answered from a response younger than the refresh interval
+     */
+    public long served() {
+        return served.sum();
+    }
+
+    /**
+     * @return how many pings were answered from a response older than the refresh interval, while it was being refreshed
+     */
+    public long stale() {
+        return stale.sum();
+    }
+
+    /**
+     * @return how many times the ping passthrough was queried
+     */
+    public long refreshed() {
+        return refreshed.sum();
+    }
+
+    private record Entry(@Nullable GeyserPingInfo pingInfo, boolean hasPingListeners, long refreshedAt, Map<Long, byte[]> encoded) {
+    }
+}
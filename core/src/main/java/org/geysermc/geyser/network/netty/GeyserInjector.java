@@ -26,6 +26,7 @@
 package org.geysermc.geyser.network.netty;
 
 import io.netty.channel.ChannelFuture;
+import io.netty.util.NettyRuntime;
 import lombok.Getter;
 import org.geysermc.geyser.GeyserBootstrap;
 
@@ -67,7 +68,32 @@ public abstract class GeyserInjector {
             e.printStackTrace();
             // If the injector partially worked, undo it
             shutdown();
+            return;
+        }
+
+        if (bootstrap.getGeyserConfig().isOptimizedDirectConnection()) {
+            enableOptimizedTransport(bootstrap);
+        }
+    }
+
+    private void enableOptimizedTransport(GeyserBootstrap bootstrap) {
+        if (this.localChannel == null) {
+            // Injection was skipped, so direct connections aren't used
+            return;
+        }
+
+        try {
+            // Only available with Netty 4.2, which not every platform ships
+            Class.forName("io.netty.channel.MultiThreadIoEventLoopGroup");
+            Class.forName("io.netty.channel.local.LocalIoHandler");
+        } catch (ClassNotFoundException e) {
+            bootstrap.getGeyserLogger().warning("optimized-direct-connection is not supported on this platform; using the default direct connection.");
+            return;
         }
+
+        int threads = Integer.getInteger("Geyser.LocalSessionThreads", NettyRuntime.availableProcessors());
+        LocalSession.enableOptimizedTransport(threads);
+        bootstrap.getGeyserLogger().debug("Using the optimized local transport with " + threads + " threads");
     }
 
     /**
@@ -76,6 +102,7 @@ public abstract class GeyserInjector {
     protected abstract void initializeLocalChannel0(GeyserBootstrap bootstrap) throws Exception;
 
     public void shutdown() {
+        LocalSession.disableOptimizedTransport();
         if (localChannel != null && localChannel.channel().isOpen()) {
             try {
                 localChannel.channel().close().sync();
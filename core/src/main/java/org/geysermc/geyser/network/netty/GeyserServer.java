@@ -26,6 +26,7 @@
 package org.geysermc.geyser.network.netty;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoopGroup;
@@ -38,6 +39,7 @@ import io.netty.util.concurrent.Future;
 import lombok.Getter;
 import net.jodah.expiringmap.ExpirationPolicy;
 import net.jodah.expiringmap.ExpiringMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.netty.channel.raknet.RakChannelFactory;
 import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
 import org.cloudburstmc.netty.handler.codec.raknet.server.RakServerOfflineHandler;
@@ -48,6 +50,7 @@ import org.geysermc.geyser.api.event.connection.ConnectionRequestEvent;
 import org.geysermc.geyser.command.defaults.ConnectionTestCommand;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.event.type.GeyserBedrockPingEventImpl;
+import org.geysermc.geyser.metrics.ServerMetrics;
 import org.geysermc.geyser.network.CIDRMatcher;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.network.GeyserServerInitializer;
@@ -117,6 +120,12 @@ public final class GeyserServer {
      */
     private final int broadcastPort;
 
+    /**
+     * Answers pings from a periodically refreshed response. Null if disabled in the config.
+     */
+    @Getter
+    private final @Nullable BedrockPongCache pongCache;
+
     public GeyserServer(GeyserImpl geyser, int threadCount) {
         this.geyser = geyser;
         this.listenCount = Bootstraps.isReusePortAvailable() ?  Integer.getInteger("Geyser.ListenCount", 1) : 1;
@@ -140,6 +149,9 @@ public final class GeyserServer {
         }
 
         this.broadcastPort = geyser.getConfig().getBedrock().broadcastPort();
+
+        int pingCacheInterval = geyser.getConfig().getPingCacheInterval();
+        this.pongCache = pingCacheInterval > 0 ? new BedrockPongCache(geyser, this, pingCacheInterval) : null;
     }
 
     public CompletableFuture<Void> bind(InetSocketAddress address) {
@@ -227,7 +239,7 @@ public final class GeyserServer {
         boolean rakSendCookie = Boolean.parseBoolean(System.getProperty("Geyser.RakSendCookie", "true"));
         this.geyser.getLogger().debug("Setting RakNet send cookie to " + rakSendCookie);
 
-        return new ServerBootstrap()
+        ServerBootstrap bootstrap = new ServerBootstrap()
                 .channelFactory(RakChannelFactory.server(TRANSPORT.datagramChannelClass()))
                 .group(group, childGroup)
                 .option(RakChannelOption.RAK_HANDLE_PING, true)
@@ -236,6 +248,12 @@ public final class GeyserServer {
                 .option(RakChannelOption.RAK_GLOBAL_PACKET_LIMIT, rakGlobalPacketLimit)
                 .option(RakChannelOption.RAK_SEND_COOKIE, rakSendCookie)
                 .childHandler(serverInitializer);
+
+        ServerMetrics metrics = this.geyser.getServerMetrics();
+        if (metrics != null) {
+            bootstrap.childOption(RakChannelOption.RAK_METRICS, metrics.rakMetrics());
+        }
+        return bootstrap;
     }
 
     public boolean onConnectionRequest(InetSocketAddress inetSocketAddress) {
@@ -282,7 +300,23 @@ public final class GeyserServer {
         return true;
     }
 
+    /**
+     * @return the encoded pong to answer an unconnected ping with
+     */
+    public ByteBuf onPing(Channel channel, InetSocketAddress inetSocketAddress) {
+        if (this.pongCache != null) {
+            logPing(inetSocketAddress);
+            return this.pongCache.get(channel, inetSocketAddress);
+        }
+        return onQuery(channel, inetSocketAddress).toByteBuf();
+    }
+
     public BedrockPong onQuery(Channel channel, InetSocketAddress inetSocketAddress) {
+        logPing(inetSocketAddress);
+        return createPong(channel, inetSocketAddress, queryPingInformation(inetSocketAddress));
+    }
+
+    private void logPing(InetSocketAddress inetSocketAddress) {
         if (geyser.getConfig().isDebugMode() && PRINT_DEBUG_PINGS) {
             String ip;
             if (geyser.getConfig().isLogPlayerIpAddresses()) {
@@ -296,16 +330,25 @@ public final class GeyserServer {
             }
             geyser.getLogger().debug(GeyserLocale.getLocaleStringLog("geyser.network.pinged", ip));
         }
+    }
 
+    /**
+     * Asks the platform for the Java server's MOTD and player counts, if ping passthrough is enabled.
+     * This may fire events on the platform and can be slow.
+     */
+    @Nullable GeyserPingInfo queryPingInformation(InetSocketAddress inetSocketAddress) {
         GeyserConfiguration config = geyser.getConfig();
-
-        GeyserPingInfo pingInfo = null;
         if (config.isPassthroughMotd() || config.isPassthroughPlayerCounts()) {
             IGeyserPingPassthrough pingPassthrough = geyser.getBootstrap().getGeyserPingPassthrough();
             if (pingPassthrough != null) {
-                pingInfo = pingPassthrough.getPingInformation(inetSocketAddress);
+                return pingPassthrough.getPingInformation(inetSocketAddress);
             }
         }
+        return null;
+    }
+
+    BedrockPong createPong(Channel channel, InetSocketAddress inetSocketAddress, @Nullable GeyserPingInfo pingInfo) {
+        GeyserConfiguration config = geyser.getConfig();
 
         BedrockPong pong = new BedrockPong()
                 .edition("MCPE")
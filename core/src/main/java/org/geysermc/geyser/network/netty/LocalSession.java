@@ -27,16 +27,21 @@ package org.geysermc.geyser.network.netty;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
 import io.netty.channel.ReflectiveChannelFactory;
+import io.netty.channel.local.LocalIoHandler;
 import io.netty.channel.unix.PreferredDirectByteBufAllocator;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.mcprotocollib.network.helper.NettyHelper;
 import org.geysermc.mcprotocollib.network.netty.MinecraftChannelInitializer;
 import org.geysermc.mcprotocollib.network.packet.PacketProtocol;
@@ -54,12 +59,22 @@ import java.util.concurrent.TimeUnit;
 public final class LocalSession extends ClientNetworkSession {
     private static EventLoopGroup DEFAULT_EVENT_LOOP_GROUP;
     private static PreferredDirectByteBufAllocator PREFERRED_DIRECT_BYTE_BUF_ALLOCATOR = null;
+    /**
+     * The threads of the optimized transport, if it is enabled.
+     */
+    private static @Nullable EventLoopGroup OPTIMIZED_EVENT_LOOP_GROUP = null;
+    private static @Nullable PreferredDirectByteBufAllocator POOLED_DIRECT_BYTE_BUF_ALLOCATOR = null;
 
     private final SocketAddress spoofedRemoteAddress;
+    /**
+     * Whether the optimized transport was enabled when this session was created, so a session doesn't switch halfway.
+     */
+    private final @Nullable EventLoopGroup optimizedEventLoopGroup;
 
     public LocalSession(SocketAddress targetAddress, String clientIp, MinecraftProtocol protocol, Executor packetHandlerExecutor) {
         super(targetAddress, protocol, packetHandlerExecutor, null, null);
         this.spoofedRemoteAddress = new InetSocketAddress(clientIp, 0);
+        this.optimizedEventLoopGroup = OPTIMIZED_EVENT_LOOP_GROUP;
     }
 
     @Override
@@ -69,13 +84,19 @@ public final class LocalSession extends ClientNetworkSession {
 
     @Override
     protected void setOptions(Bootstrap bootstrap) {
-        if (PREFERRED_DIRECT_BYTE_BUF_ALLOCATOR != null) {
+        if (optimizedEventLoopGroup != null) {
+            bootstrap.option(ChannelOption.ALLOCATOR, POOLED_DIRECT_BYTE_BUF_ALLOCATOR);
+        } else if (PREFERRED_DIRECT_BYTE_BUF_ALLOCATOR != null) {
             bootstrap.option(ChannelOption.ALLOCATOR, PREFERRED_DIRECT_BYTE_BUF_ALLOCATOR);
         }
     }
 
     @Override
     protected EventLoopGroup getEventLoopGroup() {
+        if (optimizedEventLoopGroup != null) {
+            return optimizedEventLoopGroup;
+        }
+
         if (DEFAULT_EVENT_LOOP_GROUP == null) {
             DEFAULT_EVENT_LOOP_GROUP = new DefaultEventLoopGroup(new DefaultThreadFactory(this.getClass(), true));
             Runtime.getRuntime().addShutdownHook(new Thread(
@@ -100,6 +121,10 @@ public final class LocalSession extends ClientNetworkSession {
                 NettyHelper.initializeHAProxySupport(LocalSession.this, channel);
 
                 super.initChannel(channel);
+
+                if (optimizedEventLoopGroup != null) {
+                    addFlushConsolidation(channel);
+                }
             }
         };
     }
@@ -113,4 +138,42 @@ public final class LocalSession extends ClientNetworkSession {
             PREFERRED_DIRECT_BYTE_BUF_ALLOCATOR.updateAllocator(ByteBufAllocator.DEFAULT);
         }
     }
+
+    /**
+     * Makes sessions created from now on use the optimized transport: their own threads instead of a shared
+     * DefaultEventLoopGroup, pooled direct buffers (which the server can use without copying them), and flushes
+     * that are consolidated, so all packets written in one run of the event loop reach the server together.
+     *
+     * @param threads how many threads to create, which should be about as many as the server uses for its connections
+     */
+    public static void enableOptimizedTransport(int threads) {
+        if (OPTIMIZED_EVENT_LOOP_GROUP == null) {
+            OPTIMIZED_EVENT_LOOP_GROUP = createOptimizedEventLoopGroup(threads);
+            POOLED_DIRECT_BYTE_BUF_ALLOCATOR = createPooledDirectByteBufAllocator();
+        }
+    }
+
+    public static void disableOptimizedTransport() {
+        if (OPTIMIZED_EVENT_LOOP_GROUP != null) {
+            OPTIMIZED_EVENT_LOOP_GROUP.shutdownGracefully(100, 500, TimeUnit.MILLISECONDS);
+            OPTIMIZED_EVENT_LOOP_GROUP = null;
+        }
+    }
+
+    static EventLoopGroup createOptimizedEventLoopGroup(int threads) {
+        return new MultiThreadIoEventLoopGroup(threads, new DefaultThreadFactory("GeyserLocalSession", true), LocalIoHandler.newFactory());
+    }
+
+    static PreferredDirectByteBufAllocator createPooledDirectByteBufAllocator() {
+        PreferredDirectByteBufAllocator allocator = new PreferredDirectByteBufAllocator();
+        allocator.updateAllocator(PooledByteBufAllocator.DEFAULT);
+        return allocator;
+    }
+
+    static void addFlushConsolidation(Channel channel) {
+        // Packets are written and flushed one by one; without a read in progress, the flush is delayed until the
+        // event loop has run the tasks that are already queued, such as the other packets of the same tick
+        channel.pipeline().addFirst("flush-consolidation",
+            new FlushConsolidationHandler(FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
+    }
 }
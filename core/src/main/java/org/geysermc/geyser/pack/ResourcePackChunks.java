@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.pack;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.geysermc.geyser.api.pack.PackCodec;
+import org.geysermc.geyser.pack.path.GeyserPathPackCodec;
+import org.geysermc.geyser.pack.url.GeyserUrlPackCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Reads the chunks of a resource pack that are sent to clients.
+ */
+public final class ResourcePackChunks {
+
+    /**
+     * @return the amount of chunks the pack is split into
+     */
+    public static int count(PackCodec codec) {
+        return (int) Math.ceil(codec.size() / (double) GeyserResourcePack.CHUNK_SIZE);
+    }
+
+    /**
+     * Reads one chunk of a pack. Packs stored on disk by Geyser are served straight from a copy in memory
+     * shared between all sessions; other codecs are read through {@link PackCodec#serialize()}.
+     */
+    public static ByteBuf read(PackCodec codec, int chunkIndex) throws IOException {
+        long offset = (long) chunkIndex * GeyserResourcePack.CHUNK_SIZE;
+        int length = (int) Math.max(0, Math.min(codec.size() - offset, GeyserResourcePack.CHUNK_SIZE));
+
+        if (codec instanceof GeyserUrlPackCodec urlPackCodec && urlPackCodec.getFallback() != null) {
+            codec = urlPackCodec.getFallback();
+        }
+        if (codec instanceof GeyserPathPackCodec pathPackCodec) {
+            return pathPackCodec.slice((int) offset, length);
+        }
+
+        byte[] packData = new byte[length];
+        try (SeekableByteChannel channel = codec.serialize()) {
+            channel.position(offset);
+            ByteBuffer buffer = ByteBuffer.wrap(packData);
+            // Channels are not required to fill the buffer in one read
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    break;
+                }
+            }
+        }
+        return Unpooled.wrappedBuffer(packData);
+    }
+
+    private ResourcePackChunks() {
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.pack;
+
+import io.netty.util.ReferenceCountUtil;
+import org.cloudburstmc.protocol.bedrock.packet.ResourcePackChunkDataPacket;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the bandwidth used by resource pack downloads across all sessions, so players joining at the same time
+ * do not starve the traffic of players that are already in game. Only pack chunks go through this scheduler;
+ * every other packet is sent as usual and is never held behind a download.
+ * <p>
+ * Chunks are sent from a token bucket that refills at the configured rate, taking one chunk from each downloading
+ * session in turn.
+ */
+public final class ResourcePackUploadScheduler {
+    private static final long TICK_MILLIS = 50;
+
+    private final long bytesPerSecond;
+    private final long capacity;
+    private final Map<GeyserSession, Queue<QueuedChunk>> queues = new IdentityHashMap<>();
+    /**
+     * Sessions with queued chunks, in the order they will next be served.
+     */
+    private final ArrayDeque<GeyserSession> rotation = new ArrayDeque<>();
+    private ScheduledFuture<?> task;
+
+    private long tokens;
+    private long lastRefill;
+
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder downloads = new LongAdder();
+    private final LongAdder downloadNanos = new LongAdder();
+    private final AtomicLong longestDownloadNanos = new AtomicLong();
+
+    /**
+     * @param megabytesPerSecond the upload limit, or 0 to send chunks immediately
+     */
+    public ResourcePackUploadScheduler(int megabytesPerSecond) {
+        this.bytesPerSecond = megabytesPerSecond * 1024L * 1024L;
+        // Allow up to a quarter second of burst, but always at least one chunk
+        this.capacity = Math.max(bytesPerSecond / 4, GeyserResourcePack.CHUNK_SIZE);
+    }
+
+    public void start(ScheduledExecutorService executor) {
+        if (bytesPerSecond <= 0) {
+            return;
+        }
+        this.lastRefill = System.nanoTime();
+        this.task = executor.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel(false);
+        }
+        synchronized (this) {
+            for (Queue<QueuedChunk> queue : queues.values()) {
+                queue.forEach(queued -> ReferenceCountUtil.release(queued.packet()));
+            }
+            queues.clear();
+            rotation.clear();
+            queuedBytes.set(0);
+        }
+    }
+
+    /**
+     * Sends a pack chunk to the session, or queues it until there is bandwidth for it.
+     *
+     * @param immediately whether to flush the chunk when it is sent
+     */
+    public void send(GeyserSession session, ResourcePackChunkDataPacket packet, boolean immediately) {
+        if (bytesPerSecond <= 0) {
+            sentBytes.add(packet.getData().readableBytes());
+            sendNow(session, packet, immediately);
+            return;
+        }
+
+        queuedBytes.addAndGet(packet.getData().readableBytes());
+        synchronized (this) {
+            Queue<QueuedChunk> queue = queues.get(session);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(session, queue);
+                rotation.add(session);
+            }
+            queue.add(new QueuedChunk(session, packet, immediately));
+        }
+    }
+
+    /**
+     * Records how long a session took to download all of its packs.
+     */
+    public void recordDownload(long nanos) {
+        downloads.increment();
+        downloadNanos.add(nanos);
+        longestDownloadNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void tick() {
+        List<QueuedChunk> toSend = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * bytesPerSecond / TimeUnit.SECONDS.toNanos(1));
+            lastRefill = now;
+
+            // A chunk may be sent as long as any tokens are left; the overdraft is paid back on the next refill
+            while (tokens > 0 && !rotation.isEmpty()) {
+                GeyserSession session = rotation.poll();
+                Queue<QueuedChunk> queue = queues.get(session);
+                if (session.isClosed()) {
+                    queue.forEach(queued -> {
+                        queuedBytes.addAndGet(-queued.size());
+                        ReferenceCountUtil.release(queued.packet());
+                    });
+                    queues.remove(session);
+                    continue;
+                }
+
+                QueuedChunk chunk = queue.poll();
+                queuedBytes.addAndGet(-chunk.size());
+                tokens -= chunk.size();
+                toSend.add(chunk);
+                if (queue.isEmpty()) {
+                    queues.remove(session);
+                } else {
+                    rotation.add(session);
+                }
+            }
+        }
+
+        for (QueuedChunk chunk : toSend) {
+            sentBytes.add(chunk.size());
+            sendNow(chunk.session(), chunk.packet(), chunk.immediately());
+        }
+    }
+
+    private static void sendNow(GeyserSession session, ResourcePackChunkDataPacket packet, boolean immediately) {
+        if (immediately) {
+            session.sendUpstreamPacketImmediately(packet);
+        } else {
+            session.sendUpstreamPacket(packet);
+        }
+    }
+
+    /**
+     * @return bytes of pack chunks waiting for bandwidth
+     */
+    public long queuedBytes() {
+        return queuedBytes.get();
+    }
+
+    public long sentBytes() {
+        return sentBytes.sum();
+    }
+
+    /**
+     * @return how many sessions are waiting to be sent pack chunks
+     */
+    public synchronized int downloadingSessions() {
+        return queues.size();
+    }
+
+    public long completedDownloads() {
+        return downloads.sum();
+    }
+
+    public long averageDownloadMillis() {
+        long count = downloads.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(downloadNanos.sum() / count);
+    }
+
+    public long longestDownloadMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(longestDownloadNanos.get());
+    }
+
+    private record QueuedChunk(GeyserSession session, ResourcePackChunkDataPacket packet, boolean immediately) {
+        int size() {
+            return packet.getData().readableBytes();
+        }
+    }
+}
@@ -25,6 +25,8 @@
 
 package org.geysermc.geyser.pack.path;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.geyser.GeyserImpl;
@@ -47,6 +49,11 @@ public class GeyserPathPackCodec extends PathPackCodec {
 
     private byte[] sha256;
     private long size = -1;
+    /**
+     * The contents of the pack file, shared by every session downloading it. Read into memory instead of mapping the
+     * file, since replacing or truncating a mapped file crashes the JVM.
+     */
+    private volatile byte[] contents;
 
     @Override
     public @NonNull Path path() {
@@ -83,6 +90,32 @@ public class GeyserPathPackCodec extends PathPackCodec {
         return FileChannel.open(this.path);
     }
 
+    /**
+     * Returns a slice of the pack file without copying it. The file is read into memory on first use, and again once
+     * it has changed.
+     *
+     * @param offset the offset into the pack
+     * @param length the amount of bytes to read
+     */
+    public @NonNull ByteBuf slice(int offset, int length) throws IOException {
+        this.checkLastModified();
+        byte[] contents = this.contents;
+        if (contents == null) {
+            synchronized (this) {
+                contents = this.contents;
+                if (contents == null) {
+                    this.contents = contents = Files.readAllBytes(this.path);
+                }
+            }
+        }
+        if (offset >= contents.length) {
+            // The file became smaller since its size was checked
+            return Unpooled.EMPTY_BUFFER;
+        }
+        // Slices of an older version of the file stay valid, since they keep the old contents alive
+        return Unpooled.wrappedBuffer(contents, offset, Math.min(length, contents.length - offset));
+    }
+
     @Override
     protected ResourcePack.@NonNull Builder createBuilder() {
         return ResourcePackLoader.readPack(this.path);
@@ -106,6 +139,7 @@ public class GeyserPathPackCodec extends PathPackCodec {
                 this.lastModified = lastModified;
                 this.sha256 = null;
                 this.size = -1;
+                this.contents = null;
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -31,12 +31,14 @@ import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.Clientbound
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundChunkBatchStartPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLightUpdatePacket;
 import io.netty.channel.EventLoop;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.erosion.ErosionCancellationException;
 import org.geysermc.geyser.registry.loader.RegistryLoaders;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
+import org.geysermc.geyser.translator.protocol.TranslatorMetrics;
 
 import java.util.Collections;
 import java.util.IdentityHashMap;
@@ -65,11 +67,18 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
 
         PacketTranslator<P> translator = (PacketTranslator<P>) this.mappings.get(clazz);
         if (translator != null) {
+            TranslatorMetrics metrics = GeyserImpl.getInstance().getTranslatorMetrics();
             EventLoop eventLoop = session.getTickEventLoop();
             if (canRunImmediately || !translator.shouldExecuteInEventLoop() || eventLoop.inEventLoop()) {
-                translate0(session, translator, packet);
+                translate0(session, translator, packet, metrics);
+            } else if (metrics != null) {
+                long queuedAt = System.nanoTime();
+                eventLoop.execute(() -> {
+                    metrics.recordQueueDelay(System.nanoTime() - queuedAt);
+                    translate0(session, translator, packet, metrics);
+                });
             } else {
-                eventLoop.execute(() -> translate0(session, translator, packet));
+                eventLoop.execute(() -> translate0(session, translator, packet, null));
             }
             return true;
         } else {
@@ -83,11 +92,12 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         }
     }
 
-    private <P extends T> void translate0(GeyserSession session, PacketTranslator<P> translator, P packet) {
+    private <P extends T> void translate0(GeyserSession session, PacketTranslator<P> translator, P packet, @Nullable TranslatorMetrics metrics) {
         if (session.isClosed()) {
             return;
         }
 
+        long start = metrics == null ? 0 : System.nanoTime();
         try {
             translator.translate(session, packet);
         } catch (ErosionCancellationException ex) {
@@ -95,6 +105,10 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         } catch (Throwable ex) {
             GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.network.translator.packet.failed", packet.getClass().getSimpleName()), ex);
             ex.printStackTrace();
+        } finally {
+            if (metrics != null) {
+                metrics.record(session, packet.getClass(), System.nanoTime() - start);
+            }
         }
     }
 
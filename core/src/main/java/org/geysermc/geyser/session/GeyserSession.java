@@ -127,6 +127,7 @@ import org.geysermc.geyser.command.GeyserCommandSource;
 import org.geysermc.geyser.configuration.EmoteOffhandWorkaroundOption;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.entity.EntityDefinitions;
+import org.geysermc.geyser.entity.EntityMovementScheduler;
 import org.geysermc.geyser.entity.GeyserEntityData;
 import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.entity.type.BoatEntity;
@@ -154,6 +155,7 @@ import org.geysermc.geyser.item.type.BlockItem;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
 import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.metrics.ServerMetrics;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.network.netty.LocalSession;
 import org.geysermc.geyser.registry.Registries;
@@ -166,11 +168,13 @@ import org.geysermc.geyser.session.cache.BlockBreakHandler;
 import org.geysermc.geyser.session.cache.BookEditCache;
 import org.geysermc.geyser.session.cache.BundleCache;
 import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ChunkTranslationQueue;
 import org.geysermc.geyser.session.cache.EntityCache;
 import org.geysermc.geyser.session.cache.EntityEffectCache;
 import org.geysermc.geyser.session.cache.FormCache;
 import org.geysermc.geyser.session.cache.InputCache;
 import org.geysermc.geyser.session.cache.LodestoneCache;
+import org.geysermc.geyser.session.cache.MapCache;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.session.cache.PreferencesCache;
 import org.geysermc.geyser.session.cache.RegistryCache;
@@ -186,9 +190,13 @@ import org.geysermc.geyser.session.cache.waypoint.WaypointCache;
 import org.geysermc.geyser.session.dialog.BuiltInDialog;
 import org.geysermc.geyser.session.dialog.Dialog;
 import org.geysermc.geyser.session.dialog.DialogManager;
+import org.geysermc.geyser.session.tick.SessionTickTimings;
+import org.geysermc.geyser.session.tick.TickMonitor;
+import org.geysermc.geyser.session.tick.TickSection;
 import org.geysermc.geyser.skin.SkinManager;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.inventory.InventoryTranslator;
+import org.geysermc.geyser.translator.protocol.TranslatorMetrics;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.ChunkUtils;
 import org.geysermc.geyser.util.EntityUtils;
@@ -287,11 +295,13 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final BookEditCache bookEditCache;
     private final BundleCache bundleCache;
     private final ChunkCache chunkCache;
+    private final ChunkTranslationQueue chunkTranslationQueue;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
     private final InputCache inputCache;
     private final LodestoneCache lodestoneCache;
+    private final MapCache mapCache;
     private final PistonCache pistonCache;
     private final PreferencesCache preferencesCache;
     private final RegistryCache registryCache;
@@ -301,6 +311,16 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final WaypointCache waypointCache;
     private final WorldCache worldCache;
 
+    /**
+     * Only recorded when translator metrics are enabled.
+     */
+    private final TranslatorMetrics.SessionTimings translationTimings = new TranslatorMetrics.SessionTimings();
+
+    /**
+     * Only recorded when the tick monitor is enabled.
+     */
+    private final SessionTickTimings tickTimings;
+
     /**
      * Handles block breaking and break animation progress caching.
      */
@@ -753,17 +773,22 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.upstream = new UpstreamSession(bedrockServerSession);
         this.tickEventLoop = tickEventLoop;
 
+        TickMonitor tickMonitor = geyser.getTickMonitor();
+        this.tickTimings = tickMonitor == null ? SessionTickTimings.NONE : tickMonitor.register(this, tickEventLoop);
+
         this.erosionHandler = new GeyserboundHandshakePacketHandler(this);
 
         this.advancementsCache = new AdvancementsCache(this);
         this.bookEditCache = new BookEditCache(this);
         this.bundleCache = new BundleCache(this);
         this.chunkCache = new ChunkCache(this);
+        this.chunkTranslationQueue = new ChunkTranslationQueue(this);
         this.entityCache = new EntityCache(this);
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
         this.inputCache = new InputCache(this);
         this.lodestoneCache = new LodestoneCache();
+        this.mapCache = new MapCache(this);
         this.pistonCache = new PistonCache(this);
         this.preferencesCache = new PreferencesCache(this);
         this.registryCache = new RegistryCache(this);
@@ -1151,6 +1176,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         if (tickThread != null) {
             tickThread.cancel(false);
         }
+        tickTimings.close();
 
         // Mark session as closed before cancelling erosion futures
         closed = true;
@@ -1222,8 +1248,13 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * Called every Minecraft tick.
      */
     protected void tick() {
+        ServerMetrics metrics = geyser.getServerMetrics();
+        long start = metrics == null ? 0 : System.nanoTime();
+        SessionTickTimings timings = this.tickTimings;
+        timings.begin();
         try {
             pistonCache.tick();
+            timings.lap(TickSection.PISTONS);
 
             if (worldBorder.isResizing()) {
                 worldBorder.resize();
@@ -1244,6 +1275,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                 camera().removeFog("minecraft:fog_crimson_forest");
                 isInWorldBorderWarningArea = false;
             }
+            timings.lap(TickSection.WORLD_BORDER);
 
             boolean gameShouldUpdate = !tickingFrozen || stepTicks > 0;
             if (stepTicks > 0) {
@@ -1254,6 +1286,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             if (vehicle instanceof ClientVehicle clientVehicle && vehicle.isValid()) {
                 clientVehicle.getVehicleComponent().tickVehicle();
             }
+            timings.lap(TickSection.VEHICLE);
 
             for (Tickable entity : entityCache.getTickableEntities()) {
                 entity.drawTick();
@@ -1261,6 +1294,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                     entity.tick();
                 }
             }
+            timings.lap(TickSection.ENTITIES);
 
             if (armAnimationTicks >= 0) {
                 // As of 1.18.2 Java Edition, it appears that the swing time is dynamically updated depending on the
@@ -1289,16 +1323,35 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                     armAnimationTicks = -1;
                 }
             }
+            timings.lap(TickSection.ARM_ANIMATION);
 
             this.bundleCache.tick();
+            timings.lap(TickSection.BUNDLES);
             this.dialogManager.tick();
+            timings.lap(TickSection.DIALOGS);
             this.waypointCache.tick();
+            timings.lap(TickSection.WAYPOINTS);
+            this.entityCache.flushMetadata();
+            timings.lap(TickSection.METADATA);
+            EntityMovementScheduler movementScheduler = this.entityCache.getMovementScheduler();
+            if (movementScheduler != null) {
+                movementScheduler.tick();
+            }
+            timings.lap(TickSection.MOVEMENT);
+            this.mapCache.flush();
+            timings.lap(TickSection.MAPS);
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
 
         ticks++;
         worldTicks++;
+
+        timings.end();
+
+        if (metrics != null) {
+            metrics.recordTick(System.nanoTime() - start);
+        }
     }
 
     public void startSneaking(boolean updateMetaData) {
@@ -25,12 +25,14 @@
 
 package org.geysermc.geyser.session;
 
+import io.netty.channel.Channel;
 import org.geysermc.floodgate.crypto.FloodgateCipher;
 import org.geysermc.floodgate.util.BedrockData;
 import org.geysermc.geyser.Constants;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.network.AuthType;
 import org.geysermc.geyser.api.util.PlatformType;
+import org.geysermc.geyser.metrics.ServerMetrics;
 import org.geysermc.geyser.network.netty.LocalSession;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.auth.BedrockClientData;
@@ -125,6 +127,12 @@ public class GeyserSessionAdapter extends SessionAdapter {
         session.loggingIn = false;
         session.loggedIn = true;
 
+        ServerMetrics metrics = geyser.getServerMetrics();
+        Channel channel = session.getDownstream().getSession().getChannel();
+        if (metrics != null && channel != null) {
+            channel.pipeline().addFirst("geyser-metrics", metrics.downstreamByteCounter());
+        }
+
         if (session.getDownstream().getSession() instanceof LocalSession) {
             // Connected directly to the server
             geyser.getLogger().info(GeyserLocale.getLocaleStringLog("geyser.network.remote.connect_internal",
@@ -224,9 +232,21 @@ public class GeyserSessionAdapter extends SessionAdapter {
 
     @Override
     public void packetReceived(Session session, Packet packet) {
+        ServerMetrics metrics = geyser.getServerMetrics();
+        if (metrics != null) {
+            metrics.downstreamPacketIn();
+        }
         Registries.JAVA_PACKET_TRANSLATORS.translate(packet.getClass(), packet, this.session, true);
     }
 
+    @Override
+    public void packetSent(Session session, Packet packet) {
+        ServerMetrics metrics = geyser.getServerMetrics();
+        if (metrics != null) {
+            metrics.downstreamPacketOut();
+        }
+    }
+
     @Override
     public void packetError(PacketErrorEvent event) {
         geyser.getLogger().warning(GeyserLocale.getLocaleStringLog("geyser.network.downstream_error",
@@ -29,9 +29,13 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.BedrockServerSession;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.metrics.ServerMetrics;
+import org.geysermc.geyser.network.AdaptiveCompressionStrategy;
 import org.geysermc.geyser.network.GeyserBedrockPeer;
 
 import java.net.InetSocketAddress;
@@ -44,16 +48,23 @@ public class UpstreamSession {
     @Getter @Setter
     private boolean initialized = false;
     private Queue<BedrockPacket> postStartGamePackets = new ArrayDeque<>();
+    /**
+     * The session's compression, if adaptive compression is enabled.
+     */
+    @Getter @Setter
+    private @Nullable AdaptiveCompressionStrategy compression;
 
     public void sendPacket(@NonNull BedrockPacket packet) {
         if (!isClosed()) {
             session.sendPacket(packet);
+            countSentPacket();
         }
     }
 
     public void sendPacketImmediately(@NonNull BedrockPacket packet) {
         if (!isClosed()) {
             session.sendPacketImmediately(packet);
+            countSentPacket();
         }
     }
 
@@ -76,10 +87,18 @@ public class UpstreamSession {
         BedrockPacket packet;
         while ((packet = postStartGamePackets.poll()) != null) {
             session.sendPacket(packet);
+            countSentPacket();
         }
         postStartGamePackets = null;
     }
 
+    private void countSentPacket() {
+        ServerMetrics metrics = GeyserImpl.getInstance().getServerMetrics();
+        if (metrics != null) {
+            metrics.upstreamPacketOut();
+        }
+    }
+
     public boolean isClosed() {
         return !session.getPeer().isConnected() && !session.getPeer().isConnecting();
     }
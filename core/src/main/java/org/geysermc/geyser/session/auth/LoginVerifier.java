@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.auth;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.cloudburstmc.protocol.bedrock.packet.LoginPacket;
+import org.geysermc.geyser.util.LatencyHistogram;
+import org.geysermc.geyser.util.LoginEncryptionUtils;
+import org.geysermc.geyser.util.LoginEncryptionUtils.VerifiedLogin;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies Bedrock logins on a dedicated pool, so a wave of players joining at once (for example, after a proxy restart)
+ * doesn't hold up the network threads with certificate chain and signature checks.
+ * <p>
+ * Only a limited amount of logins can wait for the pool. Once that is reached, the network thread that received the login
+ * verifies it itself, which stops it from reading more packets until it has caught up.
+ */
+public final class LoginVerifier {
+    private static final int QUEUED_PER_THREAD = 32;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder verifiedOnCaller = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public LoginVerifier(int threads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * QUEUED_PER_THREAD), new DefaultThreadFactory("GeyserLoginVerification", true),
+            (runnable, executor) -> {
+                if (!executor.isShutdown()) {
+                    verifiedOnCaller.increment();
+                    runnable.run();
+                }
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @see LoginEncryptionUtils#verifyLogin(LoginPacket, boolean)
+     */
+    public CompletableFuture<VerifiedLogin> verify(LoginPacket loginPacket, boolean allowUnsigned) {
+        long start = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                VerifiedLogin login = LoginEncryptionUtils.verifyLogin(loginPacket, allowUnsigned);
+                verified.increment();
+                return login;
+            } catch (Exception e) {
+                failed.increment();
+                throw new CompletionException(e);
+            } finally {
+                latency.record(System.nanoTime() - start);
+            }
+        }, executor);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * @return how many logins are waiting for a verification thread
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return how many logins were verified successfully
+     */
+    public long verified() {
+        return verified.sum();
+    }
+
+    /**
+     * @return how many logins could not be verified
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return how many logins were verified on the network thread because too many were already queued
+     */
+    public long verifiedOnCaller() {
+        return verifiedOnCaller.sum();
+    }
+
+    /**
+     * @return the time from receiving a login to it being verified, including time spent in the queue
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+}
@@ -298,13 +298,16 @@ public class BlockBreakHandler {
         GeyserItemStack item = session.getPlayerInventory().getItemInHand();
 
         // Account for fire - the client likes to hit the block behind.
+        // Fire breaks instantly, so the server doesn't care whether this arrives before or after the actual block break
         Vector3i fireBlockPos = BlockUtils.getBlockPosition(position, blockFace);
-        Block possibleFireBlock = session.getGeyser().getWorldManager().blockAt(session, fireBlockPos).block();
-        if (possibleFireBlock == Blocks.FIRE || possibleFireBlock == Blocks.SOUL_FIRE) {
-            ServerboundPlayerActionPacket startBreakingPacket = new ServerboundPlayerActionPacket(PlayerAction.START_DIGGING, fireBlockPos,
-                blockFace.mcpl(), session.getWorldCache().nextPredictionSequence());
-            session.sendDownstreamGamePacket(startBreakingPacket);
-        }
+        session.getGeyser().getWorldManager().getBlocksAtAsync(session, fireBlockPos).thenAccept(blocks -> session.ensureInEventLoop(() -> {
+            Block possibleFireBlock = BlockState.of(blocks[0]).block();
+            if (possibleFireBlock == Blocks.FIRE || possibleFireBlock == Blocks.SOUL_FIRE) {
+                ServerboundPlayerActionPacket startBreakingPacket = new ServerboundPlayerActionPacket(PlayerAction.START_DIGGING, fireBlockPos,
+                    blockFace.mcpl(), session.getWorldCache().nextPredictionSequence());
+                session.sendDownstreamGamePacket(startBreakingPacket);
+            }
+        }));
 
         // % block breaking progress in this tick
         float breakProgress = calculateBreakProgress(state, position, item);
@@ -26,19 +26,50 @@
 package org.geysermc.geyser.session.cache;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.level.chunk.CompactChunkStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.MathUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 
+import java.util.function.LongPredicate;
+
 public class ChunkCache {
     private final boolean cache;
     private final Long2ObjectMap<GeyserChunk> chunks;
+    /**
+     * Used instead of {@link #chunks} if the compact chunk cache is enabled.
+     */
+    private final CompactChunkStorage compactChunks;
+    /**
+     * Columns further than the server render distance plus this many chunks from the player are discarded.
+     * If zero, columns are only removed when the server unloads them.
+     */
+    private final int evictionMargin;
+
+    private boolean hasCenter = false;
+    private int centerX;
+    private int centerZ;
+
+    /**
+     * Columns discarded because the player moved away from them.
+     */
+    @Getter
+    private long distanceEvictions;
+    /**
+     * Columns discarded that were already out of range before the player last moved; the server should have
+     * unloaded these, but never did.
+     */
+    @Getter
+    private long staleEvictions;
 
     @Setter
     private int minY;
@@ -47,7 +78,10 @@ public class ChunkCache {
 
     public ChunkCache(GeyserSession session) {
         this.cache = !session.getGeyser().getWorldManager().hasOwnChunkCache(); // To prevent Spigot from initializing
-        chunks = cache ? new Long2ObjectOpenHashMap<>() : null;
+        boolean compact = cache && session.getGeyser().getConfig().isCompactChunkCache();
+        chunks = cache && !compact ? new Long2ObjectOpenHashMap<>() : null;
+        compactChunks = compact ? new CompactChunkStorage(BlockRegistries.BLOCK_STATES.get().size()) : null;
+        evictionMargin = cache ? session.getGeyser().getConfig().getChunkCacheEvictionMargin() : 0;
     }
 
     public void addToCache(int x, int z, DataPalette[] chunks) {
@@ -56,6 +90,10 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(x, z);
+        if (compactChunks != null) {
+            compactChunks.put(chunkPosition, chunks);
+            return;
+        }
         GeyserChunk geyserChunk = GeyserChunk.from(chunks);
         this.chunks.put(chunkPosition, geyserChunk);
     }
@@ -73,6 +111,13 @@ public class ChunkCache {
             return;
         }
 
+        if (compactChunks != null) {
+            if (y >= minY) {
+                compactChunks.set(MathUtils.chunkPositionToLong(x >> 4, z >> 4), (y - minY) >> 4, x, y, z, block);
+            }
+            return;
+        }
+
         GeyserChunk chunk = this.getChunk(x >> 4, z >> 4);
         if (chunk == null) {
             return;
@@ -110,6 +155,13 @@ public class ChunkCache {
             return Block.JAVA_AIR_ID;
         }
 
+        if (compactChunks != null) {
+            if (y < minY) {
+                return Block.JAVA_AIR_ID;
+            }
+            return compactChunks.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4), (y - minY) >> 4, x, y, z);
+        }
+
         GeyserChunk column = this.getChunk(x >> 4, z >> 4);
         if (column == null) {
             return Block.JAVA_AIR_ID;
@@ -134,9 +186,61 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(chunkX, chunkZ);
+        if (compactChunks != null) {
+            compactChunks.remove(chunkPosition);
+            return;
+        }
         chunks.remove(chunkPosition);
     }
 
+    /**
+     * Called when the player enters a new chunk. If distance eviction is enabled, discards every cached column
+     * outside the server render distance plus the eviction margin around the new position.
+     */
+    public void moveCenter(int chunkX, int chunkZ, int renderDistance) {
+        if (!cache || evictionMargin <= 0 || renderDistance < 0) {
+            // Render distance is not known until the Java login packet
+            return;
+        }
+
+        final boolean hadCenter = hasCenter;
+        final int oldX = centerX;
+        final int oldZ = centerZ;
+        hasCenter = true;
+        centerX = chunkX;
+        centerZ = chunkZ;
+
+        int radius = renderDistance + evictionMargin;
+        LongPredicate evict = chunkPosition -> {
+            if (!isOutside(chunkPosition, chunkX, chunkZ, radius)) {
+                return false;
+            }
+            if (hadCenter && isOutside(chunkPosition, oldX, oldZ, radius)) {
+                staleEvictions++;
+            } else {
+                distanceEvictions++;
+            }
+            return true;
+        };
+
+        if (compactChunks != null) {
+            compactChunks.removeIf(evict);
+            return;
+        }
+        ObjectIterator<Long2ObjectMap.Entry<GeyserChunk>> iterator = Long2ObjectMaps.fastIterator(chunks);
+        while (iterator.hasNext()) {
+            if (evict.test(iterator.next().getLongKey())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isOutside(long chunkPosition, int centerX, int centerZ, int radius) {
+        int x = (int) (chunkPosition >> 32);
+        int z = (int) chunkPosition;
+        return Math.abs(x - centerX) > radius || Math.abs(z - centerZ) > radius;
+    }
+
     /**
      * Manually clears all entries in the chunk cache.
      * The server is responsible for clearing chunk entries if out of render distance (for example) or switching dimensions,
@@ -147,9 +251,52 @@ public class ChunkCache {
             return;
         }
 
+        // The next center is a new position rather than a move, so nothing evicted then counts as stale
+        hasCenter = false;
+        if (compactChunks != null) {
+            compactChunks.clear();
+            return;
+        }
         chunks.clear();
     }
 
+    /**
+     * @return the amount of cached chunk columns
+     */
+    public int size() {
+        if (!cache) {
+            return 0;
+        }
+        return compactChunks != null ? compactChunks.size() : chunks.size();
+    }
+
+    /**
+     * Gets the approximate amount of bytes used by block data in this cache. For the default cache, this is an
+     * estimate of the palettes and block storage held, without object overhead.
+     */
+    public long getMemoryUsage() {
+        if (!cache) {
+            return 0;
+        }
+        if (compactChunks != null) {
+            return compactChunks.memoryUsage();
+        }
+
+        long bytes = 0;
+        for (GeyserChunk chunk : chunks.values()) {
+            for (DataPalette palette : chunk.sections()) {
+                if (palette == null) {
+                    continue;
+                }
+                bytes += palette.getPalette().size() * 4L;
+                if (palette.getStorage() != null) {
+                    bytes += palette.getStorage().getData().length * 8L;
+                }
+            }
+        }
+        return bytes;
+    }
+
     public int getChunkMinY() {
         return minY >> 4;
     }
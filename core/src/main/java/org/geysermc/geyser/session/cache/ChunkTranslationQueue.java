@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps chunk translation results in the order the Java server sent them.
+ * <p>
+ * When a chunk translation executor is configured, chunk columns are converted off the session event loop.
+ * Anything that depends on a chunk having been sent to the client - block updates, block entity updates,
+ * chunk unloads - is queued behind the chunks still being converted, and runs once they have been sent.
+ * All methods must be called on the session event loop.
+ */
+public class ChunkTranslationQueue {
+    private final GeyserSession session;
+    private final Deque<PendingTask> pending = new ArrayDeque<>();
+
+    /**
+     * True while tasks at the head of the queue are running; anything they trigger is already in order.
+     */
+    private boolean draining = false;
+
+    public ChunkTranslationQueue(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Runs the work on the chunk translation executor, if there is one, and then runs the completion on the event
+     * loop in order with everything else submitted to this queue. Without an executor, both run immediately.
+     */
+    public <T> void submit(Supplier<T> work, Consumer<T> completion) {
+        Executor executor = session.getGeyser().getChunkTranslationExecutor();
+        if (executor == null) {
+            T result = work.get();
+            runInOrder(() -> completion.accept(result));
+            return;
+        }
+
+        PendingTask task = new PendingTask();
+        pending.add(task);
+        CompletableFuture.supplyAsync(work, executor).whenComplete((result, throwable) -> session.executeInEventLoop(() -> {
+            if (throwable != null) {
+                session.getGeyser().getLogger().error("Error while translating chunk", throwable);
+                task.action = () -> { };
+            } else {
+                task.action = () -> completion.accept(result);
+            }
+            drain();
+        }));
+    }
+
+    /**
+     * Runs the task now if no chunk is pending, or once every chunk submitted before it has been sent.
+     */
+    public void runInOrder(Runnable runnable) {
+        if (draining || pending.isEmpty()) {
+            runnable.run();
+            return;
+        }
+        PendingTask task = new PendingTask();
+        task.action = runnable;
+        pending.add(task);
+    }
+
+    /**
+     * For translators that need to run after pending chunks; re-invoke the translation through the given runnable.
+     *
+     * @return true if the task has been deferred and the caller should return
+     */
+    public boolean deferIfPending(Runnable runnable) {
+        if (draining || pending.isEmpty()) {
+            return false;
+        }
+        runInOrder(runnable);
+        return true;
+    }
+
+    /**
+     * Drops every pending task, for example when the player switches dimensions and any chunk still being
+     * translated is no longer relevant.
+     */
+    public void clear() {
+        pending.clear();
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private void drain() {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        try {
+            PendingTask task;
+            while ((task = pending.peek()) != null && task.action != null) {
+                pending.poll();
+                if (session.isClosed()) {
+                    continue;
+                }
+                try {
+                    task.action.run();
+                } catch (Throwable t) {
+                    session.getGeyser().getLogger().error("Error while running queued chunk task", t);
+                }
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    private static final class PendingTask {
+        /**
+         * Null until the task is ready to run.
+         */
+        private Runnable action;
+    }
+}
@@ -31,13 +31,18 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.entity.EntityMovementScheduler;
 import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
@@ -48,6 +53,8 @@ import org.geysermc.geyser.session.GeyserSession;
  * for that player (e.g. seeing vanished players from /vanish)
  */
 public class EntityCache {
+    private static final LongAdder METADATA_PACKETS_SAVED = new LongAdder();
+
     private final GeyserSession session;
 
     @Getter
@@ -63,8 +70,27 @@ public class EntityCache {
     @Getter
     private final AtomicLong nextEntityId = new AtomicLong(2L);
 
+    private final boolean batchMetadata;
+    /**
+     * Entities with metadata changes that will be sent at the end of the tick, if metadata is batched.
+     */
+    private final ReferenceLinkedOpenHashSet<Entity> pendingMetadata = new ReferenceLinkedOpenHashSet<>();
+    /**
+     * Entities whose metadata changed again while already pending, each of which saved a packet this tick.
+     */
+    private final ReferenceOpenHashSet<Entity> mergedMetadata = new ReferenceOpenHashSet<>();
+
+    /**
+     * Holds back moves of far away entities, if enabled in the config.
+     */
+    @Getter
+    private final @Nullable EntityMovementScheduler movementScheduler;
+
     public EntityCache(GeyserSession session) {
         this.session = session;
+        this.batchMetadata = session.getGeyser().getConfig().isBatchEntityMetadata();
+        int lodDistance = session.getGeyser().getConfig().getEntityMovementLodDistance();
+        this.movementScheduler = lodDistance > 0 ? new EntityMovementScheduler(session, lodDistance) : null;
     }
 
     public void spawnEntity(Entity entity) {
@@ -124,6 +150,49 @@ public class EntityCache {
         session.getPlayerWithCustomHeads().clear();
     }
 
+    /**
+     * Marks the entity's metadata to be sent at the end of the tick.
+     *
+     * @param changed whether the entity's metadata changed since it was last updated
+     * @return false if metadata isn't batched, and the entity should send its metadata right away
+     */
+    public boolean deferMetadata(Entity entity, boolean changed) {
+        // The client predicts its own movement using its metadata, so it must not lag behind
+        if (!batchMetadata || entity == session.getPlayerEntity()) {
+            return false;
+        }
+        if (!pendingMetadata.add(entity) && changed) {
+            // Without batching, this change would have been sent in a packet of its own
+            mergedMetadata.add(entity);
+        }
+        return true;
+    }
+
+    /**
+     * Sends all metadata changes that were collected during this tick, with one packet per entity.
+     */
+    public void flushMetadata() {
+        if (pendingMetadata.isEmpty()) {
+            return;
+        }
+
+        for (Entity entity : pendingMetadata) {
+            // Entities that were despawned in the meantime are skipped
+            entity.sendBedrockMetadata();
+        }
+        METADATA_PACKETS_SAVED.add(mergedMetadata.size());
+        pendingMetadata.clear();
+        mergedMetadata.clear();
+    }
+
+    /**
+     * @return how many metadata packets were not sent across all sessions, because they were merged with other changes
+     * to the same entity
+     */
+    public static long metadataPacketsSaved() {
+        return METADATA_PACKETS_SAVED.sum();
+    }
+
     public Entity getEntityByGeyserId(long geyserId) {
         return entities.get(geyserId);
     }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.MapDecoration;
+import org.cloudburstmc.protocol.bedrock.data.MapTrackedObject;
+import org.geysermc.geyser.level.BedrockMapIcon;
+import org.geysermc.geyser.level.MapColor;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.DimensionUtils;
+import org.geysermc.mcprotocollib.protocol.data.game.level.map.MapData;
+import org.geysermc.mcprotocollib.protocol.data.game.level.map.MapIcon;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundMapItemDataPacket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the Bedrock colors of every map the session has received, so updates can be applied in place and sent once
+ * per tick. All updates to a map within one tick are sent as a single packet covering the area that changed.
+ * <p>
+ * Full maps share their colors with other sessions that received the same map, see {@link MapCanvasStore}. A session
+ * only gets its own copy of a map once it receives a partial update for it.
+ */
+public final class MapCache {
+    private static final int SIZE = 128;
+    private static final int TRANSPARENT = MapColor.COLOR_0.getABGR();
+    private static final MapCanvasStore CANVASES = new MapCanvasStore();
+
+    private final GeyserSession session;
+    private final Int2ObjectMap<MapState> maps = new Int2ObjectOpenHashMap<>();
+    private final List<MapState> pending = new ArrayList<>();
+
+    public MapCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    public void update(ClientboundMapItemDataPacket packet) {
+        MapState map = maps.computeIfAbsent(packet.getMapId(), MapState::new);
+        map.scale = packet.getScale();
+        map.locked = packet.isLocked();
+        map.icons = packet.getIcons();
+
+        MapData data = packet.getData();
+        if (data != null) {
+            map.apply(data);
+        }
+
+        if (!map.pending) {
+            map.pending = true;
+            pending.add(map);
+        }
+    }
+
+    /**
+     * Sends all maps that changed since the last tick. Called every tick.
+     */
+    public void flush() {
+        // Client will ignore if sent too early
+        if (pending.isEmpty() || !session.isSentSpawnPacket()) {
+            return;
+        }
+
+        for (MapState map : pending) {
+            session.sendUpstreamPacket(map.createPacket(session));
+            map.pending = false;
+        }
+        pending.clear();
+    }
+
+    /**
+     * Forgets every map, for example when the player switches worlds or servers and the map IDs no longer refer to
+     * the same maps. Updates received before the switch are still sent first, as they would have been without
+     * waiting for the tick.
+     */
+    public void clear() {
+        flush();
+        maps.clear();
+        pending.clear();
+    }
+
+    /**
+     * @return the store of map colors shared between sessions
+     */
+    public static MapCanvasStore canvases() {
+        return CANVASES;
+    }
+
+    private static final class MapState {
+        private final int mapId;
+        private byte scale;
+        private boolean locked;
+        private MapIcon[] icons;
+        private boolean pending;
+
+        private int[] canvas;
+        /**
+         * Whether the canvas belongs to this session only, and may be changed in place.
+         */
+        private boolean ownsCanvas;
+
+        private int dirtyMinX = SIZE;
+        private int dirtyMinY = SIZE;
+        private int dirtyMaxX;
+        private int dirtyMaxY;
+
+        MapState(int mapId) {
+            this.mapId = mapId;
+        }
+
+        void apply(MapData data) {
+            int x = data.getX();
+            int y = data.getY();
+            int columns = data.getColumns();
+            int rows = data.getRows();
+            byte[] colors = data.getData();
+
+            if (x == 0 && y == 0 && columns == SIZE && rows == SIZE && colors.length == SIZE * SIZE) {
+                canvas = CANVASES.get(colors);
+                ownsCanvas = false;
+            } else {
+                if (canvas == null) {
+                    canvas = new int[SIZE * SIZE];
+                    Arrays.fill(canvas, TRANSPARENT);
+                    ownsCanvas = true;
+                } else if (!ownsCanvas) {
+                    canvas = canvas.clone();
+                    ownsCanvas = true;
+                }
+
+                // Ignore anything outside the map, rather than failing on a malformed packet
+                columns = Math.min(columns, SIZE - x);
+                rows = Math.min(rows, SIZE - y);
+                for (int row = 0; row < rows; row++) {
+                    for (int column = 0; column < columns; column++) {
+                        int index = row * data.getColumns() + column;
+                        if (index < colors.length) {
+                            canvas[(y + row) * SIZE + x + column] = MapColor.toABGR(colors[index]);
+                        }
+                    }
+                }
+            }
+
+            if (columns > 0 && rows > 0) {
+                dirtyMinX = Math.min(dirtyMinX, x);
+                dirtyMinY = Math.min(dirtyMinY, y);
+                dirtyMaxX = Math.max(dirtyMaxX, x + columns);
+                dirtyMaxY = Math.max(dirtyMaxY, y + rows);
+            }
+        }
+
+        org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket createPacket(GeyserSession session) {
+            org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket packet = new org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket();
+
+            packet.setUniqueMapId(mapId);
+            packet.setDimensionId(DimensionUtils.javaToBedrock(session));
+            packet.setLocked(locked);
+            packet.setOrigin(Vector3i.ZERO); // Required since 1.19.20
+            packet.setScale(scale);
+            // Required as of 1.19.50
+            packet.getTrackedEntityIds().add(mapId);
+
+            if (dirtyMinX < dirtyMaxX && dirtyMinY < dirtyMaxY) {
+                int width = dirtyMaxX - dirtyMinX;
+                int height = dirtyMaxY - dirtyMinY;
+                packet.setXOffset(dirtyMinX);
+                packet.setYOffset(dirtyMinY);
+                packet.setWidth(width);
+                packet.setHeight(height);
+
+                if (width == SIZE && height == SIZE && !ownsCanvas) {
+                    // Shared canvases are never changed, so they can be encoded as they are
+                    packet.setColors(canvas);
+                } else {
+                    // Every int entry is an ABGR color
+                    int[] colors = new int[width * height];
+                    for (int row = 0; row < height; row++) {
+                        System.arraycopy(canvas, (dirtyMinY + row) * SIZE + dirtyMinX, colors, row * width, width);
+                    }
+                    packet.setColors(colors);
+                }
+
+                dirtyMinX = dirtyMinY = SIZE;
+                dirtyMaxX = dirtyMaxY = 0;
+            }
+
+            // Bedrock needs an entity id to display an icon
+            int id = 0;
+            for (MapIcon icon : icons) {
+                BedrockMapIcon bedrockMapIcon = BedrockMapIcon.fromType(icon.getIconType());
+
+                packet.getTrackedObjects().add(new MapTrackedObject(id));
+                packet.getDecorations().add(new MapDecoration(bedrockMapIcon.getIconID(), icon.getIconRotation(), icon.getCenterX(), icon.getCenterZ(), "", bedrockMapIcon.toARGB()));
+                id++;
+            }
+            return packet;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.geysermc.geyser.level.MapColor;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares converted map canvases between sessions, so a map art wall seen by many players is only converted to Bedrock
+ * colors once.
+ * <p>
+ * Canvases are keyed by their Java colors rather than the map ID, since map IDs are only unique per backend server.
+ * Shared canvases must never be modified. They are dropped once no session uses them anymore.
+ */
+public final class MapCanvasStore {
+    private final Cache<Colors, int[]> canvases = CacheBuilder.newBuilder()
+        .weakValues()
+        .build();
+
+    private final LongAdder converted = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * @param colors the Java colors of a full map
+     * @return the shared Bedrock colors of the map
+     */
+    public int[] get(byte[] colors) {
+        boolean[] convertedCanvas = new boolean[1];
+        int[] canvas;
+        try {
+            canvas = canvases.get(new Colors(colors), () -> {
+                convertedCanvas[0] = true;
+                int[] abgr = new int[colors.length];
+                for (int i = 0; i < colors.length; i++) {
+                    abgr[i] = MapColor.toABGR(colors[i]);
+                }
+                return abgr;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (convertedCanvas[0]) {
+            converted.increment();
+        } else {
+            shared.increment();
+        }
+        return canvas;
+    }
+
+    /**
+     * @return how many distinct canvases are still used by at least one session
+     */
+    public long liveCanvases() {
+        canvases.cleanUp();
+        return canvases.size();
+    }
+
+    /**
+     * @return how many full maps had to be converted
+     */
+    public long converted() {
+        return converted.sum();
+    }
+
+    /**
+     * @return how many full maps could use an already converted canvas
+     */
+    public long shared() {
+        return shared.sum();
+    }
+
+    /**
+     * Compares Java map colors by their contents.
+     */
+    private record Colors(byte[] colors) {
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Colors other && Arrays.equals(colors, other.colors);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(colors);
+        }
+    }
+}
@@ -51,6 +51,7 @@ import org.geysermc.geyser.session.cache.registry.JavaRegistry;
 import org.geysermc.geyser.session.cache.registry.JavaRegistryKey;
 import org.geysermc.geyser.session.cache.registry.RegistryEntryContext;
 import org.geysermc.geyser.session.cache.registry.RegistryEntryData;
+import org.geysermc.geyser.session.cache.registry.RegistrySnapshotStore;
 import org.geysermc.geyser.session.cache.registry.RegistryUnit;
 import org.geysermc.geyser.session.cache.registry.SimpleJavaRegistry;
 import org.geysermc.geyser.session.dialog.Dialog;
@@ -117,12 +118,19 @@ public final class RegistryCache {
         DEFAULTS = Map.copyOf(defaults);
     }
 
+    private static final RegistrySnapshotStore SNAPSHOTS = new RegistrySnapshotStore();
+
     private final GeyserSession session;
     private final Reference2ObjectMap<JavaRegistryKey<?>, JavaRegistry<?>> registries;
+    /**
+     * Keeps the shared snapshots this session's registries were loaded from alive.
+     */
+    private final Reference2ObjectMap<JavaRegistryKey<?>, RegistrySnapshotStore.Snapshot<?>> snapshots;
 
     public RegistryCache(GeyserSession session) {
         this.session = session;
         this.registries = new Reference2ObjectOpenHashMap<>(READERS.size());
+        this.snapshots = new Reference2ObjectOpenHashMap<>(READERS.size());
         for (JavaRegistryKey<?> registry : READERS.keySet()) {
             registries.put(registry, new SimpleJavaRegistry<>());
         }
@@ -138,7 +146,9 @@ public final class RegistryCache {
             RegistryLoader reader = READERS.get(registryKey);
             if (reader != null) {
                 try {
-                    reader.load(session, registries.get(registryKey), packet.getEntries());
+                    RegistrySnapshotStore.Snapshot<?> snapshot = reader.load(session, packet.getEntries());
+                    registries.get(registryKey).reset((List) snapshot.entries());
+                    snapshots.put(registryKey, snapshot);
                 } catch (Exception exception) {
                     GeyserImpl.getInstance().getLogger().error("Failed parsing registry entries for " + registryKey + "!", exception);
                 }
@@ -163,7 +173,7 @@ public final class RegistryCache {
      * @param <T> the class that represents these entries.
      */
     private static <T> void register(JavaRegistryKey<T> registryKey, RegistryReader<T> reader) {
-        register(registryKey, (session, registry, entries) -> {
+        register(registryKey, (session, entries) -> SNAPSHOTS.get(registryKey, entries, session.locale(), session.protocolVersion(), () -> {
             Map<Key, NbtMap> localRegistry = null;
 
             // Clear each local cache every time a new registry entry is given to us
@@ -195,8 +205,8 @@ public final class RegistryCache {
                 }
                 builder.add(i, new RegistryEntryData<>(i, entry.getId(), cacheEntry));
             }
-            registry.reset(builder);
-        });
+            return builder;
+        }));
     }
 
     private static <T> void register(JavaRegistryKey<T> registryKey, RegistryLoader<T> reader) {
@@ -207,6 +217,13 @@ public final class RegistryCache {
         // no-op
     }
 
+    /**
+     * @return the store of parsed registries shared between sessions
+     */
+    public static RegistrySnapshotStore snapshots() {
+        return SNAPSHOTS;
+    }
+
     @FunctionalInterface
     public interface RegistryReader<T> {
 
@@ -218,6 +235,6 @@ public final class RegistryCache {
     @FunctionalInterface
     private interface RegistryLoader<T> {
 
-        void load(GeyserSession session, JavaRegistry<T> registry, List<RegistryEntry> entries);
+        RegistrySnapshotStore.Snapshot<T> load(GeyserSession session, List<RegistryEntry> entries);
     }
 }
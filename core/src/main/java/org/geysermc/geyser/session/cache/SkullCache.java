@@ -52,12 +52,21 @@ public class SkullCache {
     private final int maxVisibleSkulls;
     private final boolean cullingEnabled;
 
+    private final int skullRenderDistance;
     private final int skullRenderDistanceSquared;
 
     @Getter
     private final Map<Vector3i, Skull> skulls = new Object2ObjectOpenHashMap<>();
+    private final SkullGrid grid = new SkullGrid();
 
-    private final List<Skull> inRangeSkulls = new ArrayList<>();
+    /**
+     * Skulls in range that have an entity, closest first.
+     */
+    private final List<Skull> visibleSkulls = new ArrayList<>();
+    /**
+     * Skulls in range that don't have an entity, since too many skulls are closer.
+     */
+    private final List<Skull> hiddenSkulls = new ArrayList<>();
 
     private int totalSkullEntities = 0;
 
@@ -71,8 +80,8 @@ public class SkullCache {
         this.cullingEnabled = this.maxVisibleSkulls != -1;
 
         // Normal skulls are not rendered beyond 64 blocks
-        int distance = Math.min(session.getGeyser().getConfig().getCustomSkullRenderDistance(), 64);
-        this.skullRenderDistanceSquared = distance * distance;
+        this.skullRenderDistance = Math.min(session.getGeyser().getConfig().getCustomSkullRenderDistance(), 64);
+        this.skullRenderDistanceSquared = skullRenderDistance * skullRenderDistance;
     }
 
     public Skull putSkull(Vector3i position, GameProfile resolved, BlockState blockState) {
@@ -84,7 +93,12 @@ public class SkullCache {
     }
 
     public Skull putSkull(Vector3i position, UUID uuid, String texturesProperty, BlockState blockState) {
-        Skull skull = skulls.computeIfAbsent(position, Skull::new);
+        Skull skull = skulls.get(position);
+        if (skull == null) {
+            skull = new Skull(position);
+            skulls.put(position, skull);
+            grid.add(skull);
+        }
         skull.uuid = uuid;
         if (!texturesProperty.equals(skull.texturesProperty)) {
             skull.texturesProperty = texturesProperty;
@@ -123,20 +137,18 @@ public class SkullCache {
                 return skull;
             }
             skull.distanceSquared = position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
+            hiddenSkulls.remove(skull);
             if (skull.distanceSquared < skullRenderDistanceSquared) {
-                // Keep list in order
-                int i = Collections.binarySearch(inRangeSkulls, skull, Comparator.comparingInt(Skull::getDistanceSquared));
-                if (i < 0) { // skull.distanceSquared is a new distance value
-                    i = -i - 1;
-                }
-                inRangeSkulls.add(i, skull);
-
-                if (i < maxVisibleSkulls) {
+                if (visibleSkulls.size() < maxVisibleSkulls) {
+                    showSkull(skull);
+                } else if (maxVisibleSkulls > 0 && skull.distanceSquared < visibleSkulls.get(maxVisibleSkulls - 1).distanceSquared) {
                     // Reassign entity from the farthest skull to this one
-                    if (inRangeSkulls.size() > maxVisibleSkulls) {
-                        freeSkullEntity(inRangeSkulls.get(maxVisibleSkulls));
-                    }
-                    assignSkullEntity(skull);
+                    Skull farthest = visibleSkulls.remove(maxVisibleSkulls - 1);
+                    freeSkullEntity(farthest);
+                    hiddenSkulls.add(farthest);
+                    showSkull(skull);
+                } else {
+                    hiddenSkulls.add(skull);
                 }
             }
         }
@@ -146,6 +158,7 @@ public class SkullCache {
     public void removeSkull(Vector3i position) {
         Skull skull = skulls.remove(position);
         if (skull != null) {
+            grid.remove(skull);
             reassignSkullEntity(skull);
         }
     }
@@ -166,31 +179,41 @@ public class SkullCache {
             }
             lastPlayerPosition = session.getPlayerEntity().getPosition();
 
-            inRangeSkulls.clear();
-            for (Skull skull : skulls.values()) {
-                if (skull.blockDefinition != null) {
-                    continue;
-                }
+            // Only skulls that were visible can have an entity that needs to be freed
+            List<Skull> previouslyVisible = new ArrayList<>(visibleSkulls);
+            visibleSkulls.clear();
+            hiddenSkulls.clear();
+            grid.collect(lastPlayerPosition, skullRenderDistance, maxVisibleSkulls, visibleSkulls, hiddenSkulls);
 
-                skull.distanceSquared = skull.position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
-                if (skull.distanceSquared > skullRenderDistanceSquared) {
+            for (Skull skull : previouslyVisible) {
+                skull.visible = false;
+            }
+            for (Skull skull : visibleSkulls) {
+                skull.visible = true;
+            }
+            for (Skull skull : previouslyVisible) {
+                if (!skull.visible) {
                     freeSkullEntity(skull);
-                } else {
-                    inRangeSkulls.add(skull);
                 }
             }
-            inRangeSkulls.sort(Comparator.comparingInt(Skull::getDistanceSquared));
-
-            for (int i = inRangeSkulls.size() - 1; i >= 0; i--) {
-                if (i < maxVisibleSkulls) {
-                    assignSkullEntity(inRangeSkulls.get(i));
-                } else {
-                    freeSkullEntity(inRangeSkulls.get(i));
-                }
+            for (Skull skull : visibleSkulls) {
+                assignSkullEntity(skull);
             }
         }
     }
 
+    /**
+     * Adds the skull to the visible skulls, keeping them in order, and gives it an entity.
+     */
+    private void showSkull(Skull skull) {
+        int i = Collections.binarySearch(visibleSkulls, skull, Comparator.comparingInt(Skull::getDistanceSquared));
+        if (i < 0) { // skull.distanceSquared is a new distance value
+            i = -i - 1;
+        }
+        visibleSkulls.add(i, skull);
+        assignSkullEntity(skull);
+    }
+
     private void assignSkullEntity(Skull skull) {
         if (skull.entity != null) {
             return;
@@ -218,10 +241,17 @@ public class SkullCache {
         freeSkullEntity(skull);
 
         if (cullingEnabled) {
-            inRangeSkulls.remove(skull);
-            if (hadEntity && inRangeSkulls.size() >= maxVisibleSkulls) {
+            if (visibleSkulls.remove(skull) && hadEntity && !hiddenSkulls.isEmpty()) {
                 // Reassign entity to the closest skull without an entity
-                assignSkullEntity(inRangeSkulls.get(maxVisibleSkulls - 1));
+                int closest = 0;
+                for (int i = 1; i < hiddenSkulls.size(); i++) {
+                    if (hiddenSkulls.get(i).distanceSquared < hiddenSkulls.get(closest).distanceSquared) {
+                        closest = i;
+                    }
+                }
+                showSkull(hiddenSkulls.remove(closest));
+            } else {
+                hiddenSkulls.remove(skull);
             }
         }
     }
@@ -233,7 +263,9 @@ public class SkullCache {
             }
         }
         skulls.clear();
-        inRangeSkulls.clear();
+        grid.clear();
+        visibleSkulls.clear();
+        hiddenSkulls.clear();
         totalSkullEntities = 0;
         lastPlayerPosition = null;
     }
@@ -266,5 +298,9 @@ public class SkullCache {
 
         private final Vector3i position;
         private int distanceSquared;
+        /**
+         * Only used while updating which skulls are visible.
+         */
+        private boolean visible;
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
+import org.cloudburstmc.math.GenericMath;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Buckets skulls by chunk, so finding the skulls closest to a player only looks at the chunks around them, instead of
+ * at every skull in the world.
+ */
+final class SkullGrid {
+    private static final Comparator<SkullCache.Skull> BY_DISTANCE = Comparator.comparingInt(SkullCache.Skull::getDistanceSquared);
+
+    private final Long2ObjectMap<List<SkullCache.Skull>> buckets = new Long2ObjectOpenHashMap<>();
+
+    void add(SkullCache.Skull skull) {
+        buckets.computeIfAbsent(key(skull.getPosition()), $ -> new ObjectArrayList<>()).add(skull);
+    }
+
+    void remove(SkullCache.Skull skull) {
+        long key = key(skull.getPosition());
+        List<SkullCache.Skull> bucket = buckets.get(key);
+        if (bucket != null && bucket.remove(skull) && bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * Finds the skulls within the given distance of the position, ignoring skulls that are sent as custom blocks, and
+     * updates their distance.
+     *
+     * @param nearest filled with up to {@code limit} of the closest skulls, closest first
+     * @param others filled with the remaining skulls within the distance, in no particular order
+     */
+    void collect(Vector3f position, int distance, int limit, List<SkullCache.Skull> nearest, List<SkullCache.Skull> others) {
+        int distanceSquared = distance * distance;
+        // Farthest skull first, so it can be replaced by a closer one
+        ObjectHeapPriorityQueue<SkullCache.Skull> heap = new ObjectHeapPriorityQueue<>(Math.max(limit, 1), BY_DISTANCE.reversed());
+
+        int minChunkX = GenericMath.floor(position.getX() - distance) >> 4;
+        int maxChunkX = GenericMath.floor(position.getX() + distance) >> 4;
+        int minChunkZ = GenericMath.floor(position.getZ() - distance) >> 4;
+        int maxChunkZ = GenericMath.floor(position.getZ() + distance) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<SkullCache.Skull> bucket = buckets.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+                if (bucket == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < bucket.size(); i++) {
+                    SkullCache.Skull skull = bucket.get(i);
+                    if (skull.getBlockDefinition() != null) {
+                        continue;
+                    }
+
+                    skull.setDistanceSquared(skull.getPosition().distanceSquared(position.getX(), position.getY(), position.getZ()));
+                    if (skull.getDistanceSquared() > distanceSquared) {
+                        continue;
+                    }
+
+                    if (heap.size() < limit) {
+                        heap.enqueue(skull);
+                    } else if (limit > 0 && skull.getDistanceSquared() < heap.first().getDistanceSquared()) {
+                        others.add(heap.dequeue());
+                        heap.enqueue(skull);
+                    } else {
+                        others.add(skull);
+                    }
+                }
+            }
+        }
+
+        int start = nearest.size();
+        while (!heap.isEmpty()) {
+            nearest.add(heap.dequeue());
+        }
+        // The heap hands out the farthest skull first
+        Collections.reverse(nearest.subList(start, nearest.size()));
+    }
+
+    private static long key(Vector3i position) {
+        return MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4);
+    }
+}
@@ -25,7 +25,6 @@
 
 package org.geysermc.geyser.session.cache;
 
-import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -35,7 +34,9 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
 import org.geysermc.geyser.session.cache.registry.JavaRegistryKey;
 import org.geysermc.geyser.session.cache.tags.GeyserHolderSet;
+import org.geysermc.geyser.session.cache.tags.NetworkIdSet;
 import org.geysermc.geyser.session.cache.tags.Tag;
+import org.geysermc.geyser.session.cache.tags.TagStore;
 import org.geysermc.geyser.util.MinecraftKey;
 import org.geysermc.mcprotocollib.protocol.data.game.item.component.HolderSet;
 import org.geysermc.mcprotocollib.protocol.packet.common.clientbound.ClientboundUpdateTagsPacket;
@@ -60,10 +61,14 @@ import java.util.Map;
  *     <li>{@link org.geysermc.geyser.inventory.GeyserItemStack#is(GeyserSession, HolderSet)}</li>
  *     <li>{@link GeyserHolderSet#contains(GeyserSession, Object)}</li>
  * </ul>
+ *
+ * <p>Tag contents are shared with other sessions that received the same tags, see {@link TagStore}.</p>
  */
 public final class TagCache {
+    private static final TagStore STORE = new TagStore();
+
     private final GeyserSession session;
-    private final Map<Tag<?>, int[]> tags = new Object2ObjectOpenHashMap<>();
+    private final Map<Tag<?>, NetworkIdSet> tags = new Object2ObjectOpenHashMap<>();
 
     public TagCache(GeyserSession session) {
         this.session = session;
@@ -112,7 +117,7 @@ public final class TagCache {
                 // Used in RecipeBookAddTranslator
                 Arrays.sort(value);
             }
-            this.tags.put(new Tag<>(registry, tag.getKey()), value);
+            this.tags.put(new Tag<>(registry, tag.getKey()), STORE.intern(value));
         }
     }
 
@@ -120,11 +125,11 @@ public final class TagCache {
      * Should only be used when the network ID of an element is already known. If not, prefer using the {@link TagCache#is(Tag, Object)} shorthand method.
      */
     public boolean is(@NonNull Tag<?> tag, int id) {
-        return contains(getRaw(tag), id);
+        return getSet(tag).contains(id);
     }
 
     public <T> boolean is(@NonNull Tag<T> tag, @NonNull T object) {
-        return contains(getRaw(tag), tag.registry().networkId(session, object));
+        return getSet(tag).contains(tag.registry().networkId(session, object));
     }
 
     /**
@@ -136,7 +141,7 @@ public final class TagCache {
         if (object == null) {
             return false;
         }
-        return contains(holderSet.resolveRaw(this), holderSet.getRegistry().networkId(session, object));
+        return holderSet.resolveSet(this).contains(holderSet.getRegistry().networkId(session, object));
     }
 
     /**
@@ -147,16 +152,18 @@ public final class TagCache {
             return false;
         }
 
-        int[] entries = holderSet.resolve(key -> {
+        Key location = holderSet.getLocation();
+        if (location != null) {
             // This should never happen, since a key in a HolderSet is always a tag
             // We check for it anyway
-            if (key.value().startsWith("#")) {
-                key = Key.key(key.namespace(), key.value().substring(1));
+            if (location.value().startsWith("#")) {
+                location = Key.key(location.namespace(), location.value().substring(1));
             }
-            return getRaw(new Tag<>(registry, key));
-        });
+            return getSet(new Tag<>(registry, location)).contains(id);
+        }
 
-        return contains(entries, id);
+        int[] holders = holderSet.getHolders();
+        return holders != null && contains(holders, id);
     }
 
     public <T> List<T> get(@NonNull Tag<T> tag) {
@@ -167,7 +174,14 @@ public final class TagCache {
      * @return the network IDs in the given tag. This can be an empty array.
      */
     public int[] getRaw(@NonNull Tag<?> tag) {
-        return this.tags.getOrDefault(tag, IntArrays.EMPTY_ARRAY);
+        return getSet(tag).ids();
+    }
+
+    /**
+     * @return the network IDs in the given tag as a set. This can be an empty set.
+     */
+    public NetworkIdSet getSet(@NonNull Tag<?> tag) {
+        return this.tags.getOrDefault(tag, NetworkIdSet.EMPTY);
     }
 
     /**
@@ -177,6 +191,13 @@ public final class TagCache {
         return Arrays.stream(array).mapToObj(i -> registry.value(session, i)).toList();
     }
 
+    /**
+     * @return the store of tag contents shared between sessions
+     */
+    public static TagStore store() {
+        return STORE;
+    }
+
     private static boolean contains(int[] array, int i) {
         for (int item : array) {
             if (item == i) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache.registry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.geysermc.mcprotocollib.protocol.data.game.RegistryEntry;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shares parsed registry entries between sessions that received the same registry data, since every player on the same
+ * backend server is sent identical registries.
+ * <p>
+ * Snapshots are keyed by the registry, the raw entries, and the session's locale and Bedrock protocol version, since readers
+ * may translate text or look up item mappings. A snapshot is immutable; a session that receives different data (for example,
+ * after switching servers) simply moves to another snapshot. Snapshots are dropped once no session uses them anymore.
+ */
+public final class RegistrySnapshotStore {
+    private final Cache<SnapshotKey, Snapshot<?>> snapshots = CacheBuilder.newBuilder()
+        .weakValues()
+        .build();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder reusedEntries = new LongAdder();
+
+    /**
+     * Returns the snapshot for the given registry data, parsing it with the reader only if no live session has received
+     * the same data yet. The caller must keep a reference to the snapshot for as long as it uses its entries.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Snapshot<T> get(JavaRegistryKey<T> registryKey, List<RegistryEntry> entries, String locale, int protocolVersion,
+                               Supplier<List<RegistryEntryData<T>>> reader) {
+        SnapshotKey key = new SnapshotKey(registryKey, new Entries(entries), locale, protocolVersion);
+        boolean[] parsed = new boolean[1];
+        Snapshot<T> snapshot;
+        try {
+            snapshot = (Snapshot<T>) snapshots.get(key, () -> {
+                parsed[0] = true;
+                return new Snapshot<>(List.copyOf(reader.get()));
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (parsed[0]) {
+            created.increment();
+        } else {
+            reused.increment();
+            reusedEntries.add(snapshot.entries().size());
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return how many distinct snapshots are still used by at least one session
+     */
+    public long liveSnapshots() {
+        snapshots.cleanUp();
+        return snapshots.size();
+    }
+
+    /**
+     * @return how many times registry data had to be parsed
+     */
+    public long created() {
+        return created.sum();
+    }
+
+    /**
+     * @return how many times a session could use an existing snapshot instead of parsing its registry data
+     */
+    public long reused() {
+        return reused.sum();
+    }
+
+    /**
+     * @return how many parsed registry entries were shared instead of being created again
+     */
+    public long reusedEntries() {
+        return reusedEntries.sum();
+    }
+
+    public record Snapshot<T>(List<RegistryEntryData<T>> entries) {
+    }
+
+    private record SnapshotKey(JavaRegistryKey<?> registryKey, Entries entries, String locale, int protocolVersion) {
+    }
+
+    /**
+     * Compares registry entries by their contents.
+     */
+    private record Entries(List<RegistryEntry> entries) {
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entries other) || entries.size() != other.entries.size()) {
+                return false;
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                RegistryEntry entry = entries.get(i);
+                RegistryEntry otherEntry = other.entries.get(i);
+                if (!entry.getId().equals(otherEntry.getId()) || !Objects.equals(entry.getData(), otherEntry.getData())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            for (RegistryEntry entry : entries) {
+                hash = 31 * hash + entry.getId().hashCode();
+                hash = 31 * hash + Objects.hashCode(entry.getData());
+            }
+            return hash;
+        }
+    }
+}
@@ -26,7 +26,12 @@
 package org.geysermc.geyser.session.cache.tags;
 
 import it.unimi.dsi.fastutil.ints.IntArrays;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -63,6 +68,13 @@ public final class GeyserHolderSet<T> {
     private final int @Nullable [] holders;
     private final @Nullable List<T> inline;
 
+    /**
+     * The list of IDs as a set, created the first time it's checked for membership.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude @ToString.Exclude
+    private @Nullable NetworkIdSet holderSet;
+
     private GeyserHolderSet(JavaRegistryKey<T> registry) {
         this(registry, IntArrays.EMPTY_ARRAY);
     }
@@ -133,6 +145,28 @@ public final class GeyserHolderSet<T> {
         return tagCache.getRaw(Objects.requireNonNull(tag, "HolderSet must have a tag if it doesn't have a list of IDs"));
     }
 
+    /**
+     * Like {@link GeyserHolderSet#resolveRaw(TagCache)}, but resolves into a set, to check if a network ID is in this HolderSet.
+     * If the HolderSet is a list of IDs, the set is only created once.
+     *
+     * @throws IllegalStateException when the HolderSet is a list of inline elements.
+     */
+    public NetworkIdSet resolveSet(TagCache tagCache) {
+        if (inline != null) {
+            throw new IllegalStateException("Tried to resolve network IDs of a GeyserHolderSet(registry=" + registry  + ") with inline elements!");
+        } else if (holders != null) {
+            // HolderSets can be shared between sessions, but since the set is immutable, creating it twice does no harm
+            NetworkIdSet holderSet = this.holderSet;
+            if (holderSet == null) {
+                holderSet = new NetworkIdSet(holders);
+                this.holderSet = holderSet;
+            }
+            return holderSet;
+        }
+
+        return tagCache.getSet(Objects.requireNonNull(tag, "HolderSet must have a tag if it doesn't have a list of IDs"));
+    }
+
     /**
      * Reads a HolderSet from a NBT object. Does not support reading HolderSets that can hold inline values.
      *
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache.tags;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of network IDs, as sent for a tag or listed in a HolderSet, that can check membership in constant time.
+ * <p>
+ * Since network IDs are small and dense, they are stored as a bitset. Should a set contain an ID too large for that to be
+ * reasonable, a sorted copy of the IDs is binary searched instead.
+ */
+public final class NetworkIdSet {
+    public static final NetworkIdSet EMPTY = new NetworkIdSet(IntArrays.EMPTY_ARRAY);
+
+    /**
+     * The highest ID a bitset is used for. Registries are far smaller than this, so in practice this is only reached
+     * by invalid data.
+     */
+    private static final int MAX_BITSET_ID = 1 << 16;
+
+    private final int[] ids;
+    private final long @Nullable [] bits;
+    private final int @Nullable [] sorted;
+
+    public NetworkIdSet(int[] ids) {
+        this.ids = ids;
+
+        int max = -1;
+        boolean negative = false;
+        for (int id : ids) {
+            max = Math.max(max, id);
+            negative |= id < 0;
+        }
+
+        if (!negative && max < MAX_BITSET_ID) {
+            long[] bits = new long[(max >> 6) + 1];
+            for (int id : ids) {
+                bits[id >> 6] |= 1L << id;
+            }
+            this.bits = bits;
+            this.sorted = null;
+        } else {
+            int[] sorted = ids.clone();
+            Arrays.sort(sorted);
+            this.bits = null;
+            this.sorted = sorted;
+        }
+    }
+
+    public boolean contains(int id) {
+        long[] bits = this.bits;
+        if (bits != null) {
+            int index = id >> 6;
+            return id >= 0 && index < bits.length && (bits[index] & (1L << id)) != 0;
+        }
+        return Arrays.binarySearch(sorted, id) >= 0;
+    }
+
+    /**
+     * @return the IDs in this set, in the order they were received. This array must not be modified.
+     */
+    public int[] ids() {
+        return ids;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
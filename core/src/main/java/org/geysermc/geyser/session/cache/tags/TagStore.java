@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache.tags;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares tag contents between sessions. Every player on the same backend server is sent identical tags, and many tags
+ * within a registry have the same contents too, so each distinct list of IDs only needs to be stored once.
+ * <p>
+ * Sets are dropped once no session uses them anymore.
+ */
+public final class TagStore {
+    private final Cache<Ids, NetworkIdSet> sets = CacheBuilder.newBuilder()
+        .weakValues()
+        .build();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder reusedIds = new LongAdder();
+
+    /**
+     * Returns the shared set for the given IDs, creating it if no live session has received the same IDs yet.
+     * The array must not be modified afterwards. The caller must keep a reference to the set for as long as it uses it.
+     */
+    public NetworkIdSet intern(int[] ids) {
+        if (ids.length == 0) {
+            return NetworkIdSet.EMPTY;
+        }
+
+        boolean[] createdSet = new boolean[1];
+        NetworkIdSet set;
+        try {
+            set = sets.get(new Ids(ids), () -> {
+                createdSet[0] = true;
+                return new NetworkIdSet(ids);
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (createdSet[0]) {
+            created.increment();
+        } else {
+            reused.increment();
+            reusedIds.add(ids.length);
+        }
+        return set;
+    }
+
+    /**
+     * @return how many distinct sets are still used by at least one session
+     */
+    public long liveSets() {
+        sets.cleanUp();
+        return sets.size();
+    }
+
+    /**
+     * @return how many times a new set had to be created
+     */
+    public long created() {
+        return created.sum();
+    }
+
+    /**
+     * @return how many times a tag could use an existing set instead of storing its own copy
+     */
+    public long reused() {
+        return reused.sum();
+    }
+
+    /**
+     * @return how many IDs were shared instead of being stored again
+     */
+    public long reusedIds() {
+        return reusedIds.sum();
+    }
+
+    /**
+     * Compares ID arrays by their contents.
+     */
+    private record Ids(int[] ids) {
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Ids other && Arrays.equals(ids, other.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(ids);
+        }
+    }
+}
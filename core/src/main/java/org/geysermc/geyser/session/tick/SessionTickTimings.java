@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.tick;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times the ticks of a single session. Only the session's event loop calls {@link #begin()}, {@link #lap(TickSection)}
+ * and {@link #end()}; the results are added to the event loop's totals.
+ */
+public final class SessionTickTimings {
+    /**
+     * Used when the tick monitor is disabled. Does nothing.
+     */
+    public static final SessionTickTimings NONE = new SessionTickTimings(null, null);
+
+    private final @Nullable GeyserSession session;
+    private final TickMonitor.@Nullable LoopLoad loop;
+    private final LongAdder tickNanos = new LongAdder();
+
+    private long tickStart;
+    private long lapStart;
+
+    SessionTickTimings(@Nullable GeyserSession session, TickMonitor.@Nullable LoopLoad loop) {
+        this.session = session;
+        this.loop = loop;
+    }
+
+    public void begin() {
+        if (loop != null) {
+            tickStart = lapStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Attributes the time since the previous lap (or the start of the tick) to the given section.
+     */
+    public void lap(TickSection section) {
+        if (loop != null) {
+            long now = System.nanoTime();
+            loop.sectionNanos[section.ordinal()].add(now - lapStart);
+            lapStart = now;
+        }
+    }
+
+    public void end() {
+        if (loop != null) {
+            long nanos = System.nanoTime() - tickStart;
+            tickNanos.add(nanos);
+            loop.tickNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Stops counting this session towards its event loop. Called once the session has disconnected.
+     */
+    public void close() {
+        if (loop != null) {
+            loop.sessions.remove(this);
+        }
+    }
+
+    String name() {
+        // Sessions are registered before they have logged in
+        if (session == null || session.getAuthData() == null) {
+            return "unknown";
+        }
+        return session.bedrockUsername();
+    }
+
+    long sumThenReset() {
+        return tickNanos.sumThenReset();
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.tick;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.geysermc.geyser.GeyserLogger;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how much time each player thread spends ticking its sessions. Sessions share a handful of event loops, so
+ * once the ticks of one loop take longer than a Minecraft tick, all of its sessions drift behind.
+ * <p>
+ * Every second, the load of each event loop is updated, and a warning naming the slowest parts of the tick and the
+ * slowest players is logged for loops over the configured share of the tick budget. The load is also used to place
+ * new sessions on the least-loaded event loop, if enabled.
+ */
+public final class TickMonitor {
+    private static final long TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long WARNING_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int SHOWN_SECTIONS = 3;
+    private static final int SHOWN_SESSIONS = 3;
+
+    private final GeyserLogger logger;
+    /**
+     * The share of the tick budget a loop may use before a warning is logged, or 0 to never warn.
+     */
+    private final double warningThreshold;
+    private final Map<EventLoop, LoopLoad> loops = new ConcurrentHashMap<>();
+    private final AtomicInteger loopIds = new AtomicInteger();
+
+    private ScheduledFuture<?> watchdog;
+    private long lastCheck;
+
+    /**
+     * @param warningThreshold the percentage of the tick budget a player thread may spend on ticks before slow ticks
+     *                         are logged, or 0 to only track ticks
+     */
+    public TickMonitor(GeyserLogger logger, int warningThreshold) {
+        this.logger = logger;
+        this.warningThreshold = warningThreshold / 100.0;
+    }
+
+    public void start(ScheduledExecutorService executor) {
+        lastCheck = System.nanoTime();
+        watchdog = executor.scheduleAtFixedRate(this::check, CHECK_INTERVAL_NANOS, CHECK_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    public void stop() {
+        if (watchdog != null) {
+            watchdog.cancel(false);
+        }
+    }
+
+    public SessionTickTimings register(GeyserSession session, EventLoop eventLoop) {
+        LoopLoad loop = load(eventLoop);
+        SessionTickTimings timings = new SessionTickTimings(session, loop);
+        loop.sessions.add(timings);
+        return timings;
+    }
+
+    /**
+     * Picks the event loop with the least estimated load. The estimate combines the time each loop spent ticking
+     * recently with the sessions it holds, so sessions that join at the same time are spread out before their ticks
+     * have been measured.
+     */
+    public EventLoop leastLoaded(EventLoopGroup group) {
+        List<LoopLoad> candidates = new ArrayList<>();
+        long totalNanos = 0;
+        int totalSessions = 0;
+        for (EventExecutor executor : group) {
+            LoopLoad loop = load((EventLoop) executor);
+            candidates.add(loop);
+            totalNanos += loop.recentNanos;
+            totalSessions += loop.sessions.size();
+        }
+        if (candidates.isEmpty()) {
+            return group.next();
+        }
+
+        long perSession = totalSessions == 0 ? 1 : Math.max(1, totalNanos / totalSessions);
+        LoopLoad best = null;
+        long bestLoad = Long.MAX_VALUE;
+        for (LoopLoad loop : candidates) {
+            long load = loop.recentNanos + loop.sessions.size() * perSession;
+            if (load < bestLoad) {
+                best = loop;
+                bestLoad = load;
+            }
+        }
+        return best.eventLoop;
+    }
+
+    /**
+     * @return the load of every player thread that held a session, as measured by the last check
+     */
+    public List<LoopSnapshot> snapshot() {
+        List<LoopLoad> sorted = new ArrayList<>(loops.values());
+        sorted.sort(Comparator.comparingInt(loop -> loop.id));
+        List<LoopSnapshot> snapshots = new ArrayList<>(sorted.size());
+        for (LoopLoad loop : sorted) {
+            snapshots.add(new LoopSnapshot(loop.name, loop.sessions.size(), loop.recentNanos * TICK_BUDGET_NANOS / CHECK_INTERVAL_NANOS,
+                loop.overruns.get()));
+        }
+        return snapshots;
+    }
+
+    private LoopLoad load(EventLoop eventLoop) {
+        return loops.computeIfAbsent(eventLoop, key -> new LoopLoad(key, loopIds.incrementAndGet()));
+    }
+
+    private void check() {
+        try {
+            check0();
+        } catch (Throwable t) {
+            // An exception would cancel the scheduled task, and with it the watchdog
+            logger.error("Failed to check the load of the player threads", t);
+        }
+    }
+
+    private void check0() {
+        long now = System.nanoTime();
+        long elapsed = now - lastCheck;
+        lastCheck = now;
+        if (elapsed <= 0) {
+            return;
+        }
+
+        for (LoopLoad loop : loops.values()) {
+            long tickNanos = loop.tickNanos.sumThenReset();
+            long[] sectionNanos = new long[TickSection.VALUES.length];
+            for (int i = 0; i < sectionNanos.length; i++) {
+                sectionNanos[i] = loop.sectionNanos[i].sumThenReset();
+            }
+            List<SessionLoad> sessions = new ArrayList<>(loop.sessions.size());
+            for (SessionTickTimings session : loop.sessions) {
+                sessions.add(new SessionLoad(session.name(), session.sumThenReset()));
+            }
+
+            // Normalize to one second, in case the check ran late
+            long perSecond = tickNanos * CHECK_INTERVAL_NANOS / elapsed;
+            loop.recentNanos = (loop.recentNanos + perSecond) / 2;
+
+            long ticks = Math.max(1, elapsed / TICK_BUDGET_NANOS);
+            long perTick = tickNanos / ticks;
+            if (warningThreshold <= 0 || perTick <= TICK_BUDGET_NANOS * warningThreshold) {
+                continue;
+            }
+
+            loop.overruns.incrementAndGet();
+            if (now - loop.nextWarning < 0) {
+                continue;
+            }
+            loop.nextWarning = now + WARNING_COOLDOWN_NANOS;
+
+            StringBuilder message = new StringBuilder();
+            message.append("Ticking the ").append(sessions.size()).append(" players on ").append(loop.name)
+                .append(" took ").append(formatMillis(perTick)).append(" per tick (budget: 50 ms). Slowest parts:");
+            List<TickSection> slowestSections = new ArrayList<>(List.of(TickSection.VALUES));
+            slowestSections.sort(Comparator.comparingLong((TickSection section) -> sectionNanos[section.ordinal()]).reversed());
+            for (int i = 0; i < SHOWN_SECTIONS; i++) {
+                TickSection section = slowestSections.get(i);
+                message.append(' ').append(section.getDisplayName()).append(" (")
+                    .append(formatMillis(sectionNanos[section.ordinal()] / ticks)).append(')');
+            }
+            message.append(". Slowest players:");
+            sessions.sort(Comparator.comparingLong(SessionLoad::nanos).reversed());
+            for (int i = 0; i < Math.min(SHOWN_SESSIONS, sessions.size()); i++) {
+                SessionLoad session = sessions.get(i);
+                message.append(' ').append(session.name()).append(" (").append(formatMillis(session.nanos() / ticks)).append(')');
+            }
+            logger.warning(message.toString());
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * @param tickNanosPerTick the average time spent ticking sessions per Minecraft tick
+     * @param overruns how many checks found this thread over its tick budget
+     */
+    public record LoopSnapshot(String name, int sessions, long tickNanosPerTick, int overruns) {
+    }
+
+    private record SessionLoad(String name, long nanos) {
+    }
+
+    static final class LoopLoad {
+        private final EventLoop eventLoop;
+        private final int id;
+        private final String name;
+        final Set<SessionTickTimings> sessions = ConcurrentHashMap.newKeySet();
+        final LongAdder tickNanos = new LongAdder();
+        final LongAdder[] sectionNanos = new LongAdder[TickSection.VALUES.length];
+        private final AtomicInteger overruns = new AtomicInteger();
+        /**
+         * Time spent ticking per second, smoothed over the last checks.
+         */
+        private volatile long recentNanos;
+        private long nextWarning = System.nanoTime();
+
+        LoopLoad(EventLoop eventLoop, int id) {
+            this.eventLoop = eventLoop;
+            this.id = id;
+            this.name = "player thread #" + id;
+            for (int i = 0; i < sectionNanos.length; i++) {
+                sectionNanos[i] = new LongAdder();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.tick;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The parts of a session tick that are timed separately, so the tick watchdog can name the slowest ones.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum TickSection {
+    PISTONS("pistons"),
+    WORLD_BORDER("world border"),
+    VEHICLE("vehicle"),
+    ENTITIES("entities"),
+    ARM_ANIMATION("arm animation"),
+    BUNDLES("bundles"),
+    DIALOGS("dialogs"),
+    WAYPOINTS("waypoints"),
+    METADATA("entity metadata"),
+    MOVEMENT("entity movement"),
+    MAPS("maps");
+
+    public static final TickSection[] VALUES = values();
+
+    private final String displayName;
+}
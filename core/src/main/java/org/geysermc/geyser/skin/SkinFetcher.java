@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs skin, cape and profile requests, limiting how many requests run against each remote host at once.
+ * <p>
+ * On Java 21 and above, each request runs on its own virtual thread. Otherwise, a pool of platform threads is used
+ * that shrinks back to nothing when idle.
+ */
+public final class SkinFetcher {
+    /**
+     * Only used when virtual threads are not available.
+     */
+    private static final int MAX_PLATFORM_THREADS = 32;
+    /**
+     * How long a request waits for a free slot for its host before giving up.
+     */
+    private static final long PERMIT_TIMEOUT_MILLIS = 10_000;
+    private static final long CANCELLATION_CHECK_MILLIS = 250;
+
+    private final ExecutorService executor;
+    private final int perHostLimit;
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * @param perHostLimit the maximum amount of concurrent requests to one host, or 0 for no limit
+     */
+    public SkinFetcher(int perHostLimit) {
+        this.executor = createExecutor();
+        this.perHostLimit = perHostLimit;
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PLATFORM_THREADS, MAX_PLATFORM_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DefaultThreadFactory("Geyser Skin Fetcher", true));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Runs a request to the given URL on the calling thread, once there is a free slot for its host.
+     *
+     * @param isCancelled checked while waiting for a slot; if it returns true, the request is abandoned
+     * @throws CancellationException if the request was abandoned or timed out waiting for a slot
+     */
+    public <T> T fetch(String url, @Nullable BooleanSupplier isCancelled, Request<T> request) throws IOException {
+        Semaphore permits = perHostLimit <= 0 ? null : hosts.computeIfAbsent(host(url), host -> new Semaphore(perHostLimit));
+        if (permits != null) {
+            acquire(permits, isCancelled);
+        }
+
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T result = request.run();
+            completed.increment();
+            return result;
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            throw e;
+        } finally {
+            latency.record(System.nanoTime() - start);
+            inFlight.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private void acquire(Semaphore permits, @Nullable BooleanSupplier isCancelled) {
+        long deadline = System.currentTimeMillis() + PERMIT_TIMEOUT_MILLIS;
+        try {
+            while (!permits.tryAcquire(CANCELLATION_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                if ((isCancelled != null && isCancelled.getAsBoolean()) || System.currentTimeMillis() > deadline) {
+                    cancelled.increment();
+                    throw new CancellationException("Skin request abandoned while waiting for its host");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.increment();
+            throw new CancellationException("Interrupted while waiting for a skin request slot");
+        }
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Called when a request is answered by a request for the same texture that is already running.
+     */
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long completed() {
+        return completed.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long cancelled() {
+        return cancelled.sum();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface Request<T> {
+        T run() throws IOException;
+    }
+}
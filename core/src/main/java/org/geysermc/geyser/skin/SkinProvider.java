@@ -53,14 +53,20 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 
 public class SkinProvider {
-    private static ExecutorService EXECUTOR_SERVICE;
+    private static SkinFetcher FETCHER;
+    /**
+     * Converted skins and capes, keyed by texture. Null until Geyser has started.
+     */
+    private static volatile SkinStore STORE;
 
     static final Skin EMPTY_SKIN;
     static final Cape EMPTY_CAPE = new Cape("", "no-cape", ByteArrays.EMPTY_ARRAY, true);
@@ -131,31 +137,54 @@ public class SkinProvider {
         }
     }
 
-    public static ExecutorService getExecutorService() {
-        if (EXECUTOR_SERVICE == null) {
-            EXECUTOR_SERVICE = Executors.newFixedThreadPool(14);
+    public static synchronized SkinFetcher getFetcher() {
+        if (FETCHER == null) {
+            FETCHER = new SkinFetcher(GeyserImpl.getInstance().getConfig().getSkinFetchHostLimit());
         }
-        return EXECUTOR_SERVICE;
+        return FETCHER;
+    }
+
+    public static ExecutorService getExecutorService() {
+        return getFetcher().executor();
     }
 
-    public static void shutdown() {
-        if (EXECUTOR_SERVICE != null) {
-            EXECUTOR_SERVICE.shutdown();
-            EXECUTOR_SERVICE = null;
+    public static synchronized void shutdown() {
+        if (FETCHER != null) {
+            FETCHER.shutdown();
+            FETCHER = null;
+        }
+        if (STORE != null) {
+            STORE.close();
+            STORE = null;
         }
     }
 
     public static void registerCacheImageTask(GeyserImpl geyser) {
+        Path storePath = null;
+        if (geyser.getConfig().getCacheImages() > 0) {
+            storePath = geyser.getBootstrap().getConfigFolder().resolve("cache").resolve("skins.dat");
+        }
+        STORE = new SkinStore(geyser.getConfig().getSkinMemoryCacheSize(), storePath);
+
         // Schedule Daily Image Expiry if we are caching them
         if (geyser.getConfig().getCacheImages() > 0) {
             geyser.getScheduledThread().scheduleAtFixedRate(() -> {
+                final long expireTime = ((long) GeyserImpl.getInstance().getConfig().getCacheImages()) * ((long)1000 * 60 * 60 * 24);
+                SkinStore store = STORE;
+                if (store != null) {
+                    int removed = store.compact(System.currentTimeMillis() - expireTime);
+                    if (removed > 0) {
+                        GeyserImpl.getInstance().getLogger().debug(String.format("Removed %d cached skins as they have expired", removed));
+                    }
+                }
+
+                // Image files are still written for custom skulls
                 File cacheFolder = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").toFile();
                 if (!cacheFolder.exists()) {
                     return;
                 }
 
                 int count = 0;
-                final long expireTime = ((long) GeyserImpl.getInstance().getConfig().getCacheImages()) * ((long)1000 * 60 * 60 * 24);
                 for (File imageFile : Objects.requireNonNull(cacheFolder.listFiles())) {
                     if (imageFile.lastModified() < System.currentTimeMillis() - expireTime) {
                         //noinspection ResultOfMethodCallIgnored
@@ -243,7 +272,7 @@ public class SkinProvider {
             return CompletableFuture.completedFuture(determineFallbackSkinData(entity.getUuid()));
         }
 
-        return requestSkinAndCape(entity.getUuid(), data.skinUrl(), data.capeUrl())
+        return requestSkinAndCape(entity.getUuid(), data.skinUrl(), data.capeUrl(), session)
                 .thenApplyAsync(skinAndCape -> {
                     try {
                         Skin skin = skinAndCape.skin();
@@ -293,13 +322,15 @@ public class SkinProvider {
                 });
     }
 
-    private static CompletableFuture<SkinAndCape> requestSkinAndCape(UUID playerId, String skinUrl, String capeUrl) {
+    private static CompletableFuture<SkinAndCape> requestSkinAndCape(UUID playerId, String skinUrl, String capeUrl, GeyserSession session) {
         return CompletableFuture.supplyAsync(() -> {
             long time = System.currentTimeMillis();
 
+            // Stop waiting on busy hosts if the player this is for has left
+            BooleanSupplier isCancelled = session == null ? null : session::isClosed;
             SkinAndCape skinAndCape = new SkinAndCape(
-                    getOrDefault(requestSkin(playerId, skinUrl, false), EMPTY_SKIN, 5),
-                    getOrDefault(requestCape(capeUrl, false), EMPTY_CAPE, 5)
+                    getOrDefault(requestSkin(playerId, skinUrl, false, isCancelled), EMPTY_SKIN, 5),
+                    getOrDefault(requestCape(capeUrl, false, isCancelled), EMPTY_CAPE, 5)
             );
 
             GeyserImpl.getInstance().getLogger().debug("Took " + (System.currentTimeMillis() - time) + "ms for " + playerId);
@@ -308,10 +339,15 @@ public class SkinProvider {
     }
 
     static CompletableFuture<Skin> requestSkin(UUID playerId, String textureUrl, boolean newThread) {
+        return requestSkin(playerId, textureUrl, newThread, null);
+    }
+
+    private static CompletableFuture<Skin> requestSkin(UUID playerId, String textureUrl, boolean newThread, @Nullable BooleanSupplier isCancelled) {
         if (textureUrl == null || textureUrl.isEmpty()) return CompletableFuture.completedFuture(EMPTY_SKIN);
         CompletableFuture<Skin> requestedSkin = requestedSkins.get(textureUrl);
         if (requestedSkin != null) {
             // already requested
+            getFetcher().recordCoalesced();
             return requestedSkin;
         }
 
@@ -322,24 +358,30 @@ public class SkinProvider {
 
         CompletableFuture<Skin> future;
         if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplySkin(playerId, textureUrl), getExecutorService())
+            future = CompletableFuture.supplyAsync(() -> supplySkin(playerId, textureUrl, isCancelled), getExecutorService())
                     .whenCompleteAsync((skin, throwable) -> {
-                        CACHED_JAVA_SKINS.put(textureUrl, skin);
+                        // Failed or cancelled downloads may succeed for the next player, so don't cache them
+                        if (skin != null && !skin.failed()) {
+                            CACHED_JAVA_SKINS.put(textureUrl, skin);
+                        }
                         requestedSkins.remove(textureUrl);
                     });
             requestedSkins.put(textureUrl, future);
         } else {
-            Skin skin = supplySkin(playerId, textureUrl);
+            Skin skin = supplySkin(playerId, textureUrl, isCancelled);
             future = CompletableFuture.completedFuture(skin);
-            CACHED_JAVA_SKINS.put(textureUrl, skin);
+            if (!skin.failed()) {
+                CACHED_JAVA_SKINS.put(textureUrl, skin);
+            }
         }
         return future;
     }
 
-    private static CompletableFuture<Cape> requestCape(String capeUrl, boolean newThread) {
+    private static CompletableFuture<Cape> requestCape(String capeUrl, boolean newThread, @Nullable BooleanSupplier isCancelled) {
         if (capeUrl == null || capeUrl.isEmpty()) return CompletableFuture.completedFuture(EMPTY_CAPE);
         CompletableFuture<Cape> requestedCape = requestedCapes.get(capeUrl);
         if (requestedCape != null) {
+            getFetcher().recordCoalesced();
             return requestedCape;
         }
 
@@ -350,16 +392,21 @@ public class SkinProvider {
 
         CompletableFuture<Cape> future;
         if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplyCape(capeUrl), getExecutorService())
+            future = CompletableFuture.supplyAsync(() -> supplyCape(capeUrl, isCancelled), getExecutorService())
                     .whenCompleteAsync((cape, throwable) -> {
-                        CACHED_JAVA_CAPES.put(capeUrl, cape);
+                        // Failed or cancelled downloads may succeed for the next player, so don't cache them
+                        if (cape != null && !cape.failed()) {
+                            CACHED_JAVA_CAPES.put(capeUrl, cape);
+                        }
                         requestedCapes.remove(capeUrl);
                     });
             requestedCapes.put(capeUrl, future);
         } else {
-            Cape cape = supplyCape(capeUrl); // blocking
+            Cape cape = supplyCape(capeUrl, isCancelled); // blocking
             future = CompletableFuture.completedFuture(cape);
-            CACHED_JAVA_CAPES.put(capeUrl, cape);
+            if (!cape.failed()) {
+                CACHED_JAVA_CAPES.put(capeUrl, cape);
+            }
         }
         return future;
     }
@@ -379,19 +426,19 @@ public class SkinProvider {
         cachedGeometry.put(playerID, geometry);
     }
 
-    private static Skin supplySkin(UUID uuid, String textureUrl) {
+    private static Skin supplySkin(UUID uuid, String textureUrl, @Nullable BooleanSupplier isCancelled) {
         try {
-            byte[] skin = requestImageData(textureUrl, false);
+            byte[] skin = requestImageData(textureUrl, false, isCancelled);
             return new Skin(textureUrl, skin);
         } catch (Exception ignored) {} // just ignore I guess
 
         return new Skin("empty", EMPTY_SKIN.skinData(), true);
     }
 
-    private static Cape supplyCape(String capeUrl) {
+    private static Cape supplyCape(String capeUrl, @Nullable BooleanSupplier isCancelled) {
         byte[] cape = EMPTY_CAPE.capeData();
         try {
-            cape = requestImageData(capeUrl, true);
+            cape = requestImageData(capeUrl, true, isCancelled);
         } catch (Exception ignored) {
         } // just ignore I guess
 
@@ -405,13 +452,21 @@ public class SkinProvider {
         );
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     public static BufferedImage requestImage(String imageUrl, boolean isCape) throws IOException {
+        return requestImage(imageUrl, isCape, true, null);
+    }
+
+    /**
+     * @param useImageFiles whether to read and write the downloaded image as a file in the image cache
+     * @param isCancelled whether the download is no longer needed, if it has to wait for other downloads
+     */
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private static BufferedImage requestImage(String imageUrl, boolean isCape, boolean useImageFiles, @Nullable BooleanSupplier isCancelled) throws IOException {
         BufferedImage image = null;
 
         // First see if we have a cached file. We also update the modification stamp so we know when the file was last used
         File imageFile = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").resolve(UUID.nameUUIDFromBytes(imageUrl.getBytes()) + ".png").toFile();
-        if (imageFile.exists()) {
+        if (useImageFiles && imageFile.exists()) {
             try {
                 GeyserImpl.getInstance().getLogger().debug("Reading cached image from file " + imageFile.getPath() + " for " + imageUrl);
                 imageFile.setLastModified(System.currentTimeMillis());
@@ -421,11 +476,11 @@ public class SkinProvider {
 
         // If no image we download it
         if (image == null) {
-            image = downloadImage(imageUrl);
+            image = downloadImage(imageUrl, isCancelled);
             GeyserImpl.getInstance().getLogger().debug("Downloaded " + imageUrl);
 
             // Write to cache if we are allowed
-            if (GeyserImpl.getInstance().getConfig().getCacheImages() > 0) {
+            if (useImageFiles && GeyserImpl.getInstance().getConfig().getCacheImages() > 0) {
                 imageFile.getParentFile().mkdirs();
                 try {
                     ImageIO.write(image, "png", imageFile);
@@ -469,13 +524,36 @@ public class SkinProvider {
         return image;
     }
 
-    private static byte[] requestImageData(String imageUrl, boolean isCape) throws Exception {
-        BufferedImage image = requestImage(imageUrl, isCape);
+    private static byte[] requestImageData(String imageUrl, boolean isCape, @Nullable BooleanSupplier isCancelled) throws Exception {
+        String key = textureKey(imageUrl, isCape);
+        SkinStore store = STORE;
+        if (store != null) {
+            byte[] data = store.get(key);
+            if (data != null) {
+                return data;
+            }
+        }
+
+        BufferedImage image = requestImage(imageUrl, isCape, false, isCancelled);
         byte[] data = bufferedImageToImageData(image);
         image.flush();
+        if (store != null) {
+            store.put(key, data);
+        }
         return data;
     }
 
+    /**
+     * Mojang texture URLs end with the hash of the texture, which is shared between the old and new texture hosts.
+     */
+    private static String textureKey(String imageUrl, boolean isCape) {
+        String texture = imageUrl;
+        if (imageUrl.contains("textures.minecraft.net/texture/")) {
+            texture = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        }
+        return (isCape ? "cape:" : "skin:") + texture;
+    }
+
     public static @Nullable String shorthandUUID(@Nullable UUID uuid) {
         if (uuid == null) {
             return null;
@@ -503,7 +581,7 @@ public class SkinProvider {
     public static CompletableFuture<@Nullable String> requestUsernameFromUUID(UUID uuid) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                JsonNode node = WebUtils.getJson("https://api.minecraftservices.com/minecraft/profile/lookup/" + shorthandUUID(uuid));
+                JsonNode node = getJson("https://api.minecraftservices.com/minecraft/profile/lookup/" + shorthandUUID(uuid));
                 JsonNode name = node.get("name");
                 if (name == null) {
                     GeyserImpl.getInstance().getLogger().debug("No username found in Mojang response for " + uuid);
@@ -528,7 +606,7 @@ public class SkinProvider {
     public static CompletableFuture<@Nullable UUID> requestUUIDFromUsername(String username) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                JsonNode node = WebUtils.getJson("https://api.mojang.com/users/profiles/minecraft/" + username);
+                JsonNode node = getJson("https://api.mojang.com/users/profiles/minecraft/" + username);
                 JsonNode id = node.get("id");
                 if (id == null) {
                     GeyserImpl.getInstance().getLogger().debug("No UUID found in Mojang response for " + username);
@@ -553,7 +631,7 @@ public class SkinProvider {
     public static CompletableFuture<@Nullable String> requestTexturesFromUUID(UUID uuid) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                JsonNode node = WebUtils.getJson("https://sessionserver.mojang.com/session/minecraft/profile/" + shorthandUUID(uuid));
+                JsonNode node = getJson("https://sessionserver.mojang.com/session/minecraft/profile/" + shorthandUUID(uuid));
                 JsonNode properties = node.get("properties");
                 if (properties == null) {
                     GeyserImpl.getInstance().getLogger().debug("No properties found in Mojang response for " + uuid);
@@ -586,13 +664,18 @@ public class SkinProvider {
             });
     }
 
-    private static BufferedImage downloadImage(String imageUrl) throws IOException {
-        HttpURLConnection con = (HttpURLConnection) new URL(imageUrl).openConnection();
-        con.setRequestProperty("User-Agent", WebUtils.getUserAgent());
-        con.setConnectTimeout(10000);
-        con.setReadTimeout(10000);
+    private static JsonNode getJson(String url) throws IOException {
+        return getFetcher().fetch(url, null, () -> WebUtils.getJson(url));
+    }
 
-        BufferedImage image = ImageIO.read(con.getInputStream());
+    private static BufferedImage downloadImage(String imageUrl, @Nullable BooleanSupplier isCancelled) throws IOException {
+        BufferedImage image = getFetcher().fetch(imageUrl, isCancelled, () -> {
+            HttpURLConnection con = (HttpURLConnection) new URL(imageUrl).openConnection();
+            con.setRequestProperty("User-Agent", WebUtils.getUserAgent());
+            con.setConnectTimeout(10000);
+            con.setReadTimeout(10000);
+            return ImageIO.read(con.getInputStream());
+        });
 
         if (image == null) {
             throw new IllegalArgumentException("Failed to read image from: %s".formatted(imageUrl));
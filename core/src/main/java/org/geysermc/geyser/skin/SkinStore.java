@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores skin and cape image data that has already been converted for Bedrock, so players seen before do not need
+ * their textures downloaded, decoded or converted again.
+ * <p>
+ * Recently used textures are kept in memory. Every texture can also be written to a single append-only file,
+ * indexed in memory when Geyser starts. Expired textures are dropped by rewriting the file with {@link #compact(long)}.
+ */
+final class SkinStore {
+    private static final int MAGIC = 0x47534B31; // GSK1
+    /**
+     * How much later a texture has to be used again before that is written to the file, so every use doesn't cause a write.
+     */
+    private static final long PERSIST_LAST_USED_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final @Nullable Cache<String, byte[]> memory;
+    private final @Nullable Path path;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    /**
+     * Reads may run in parallel; appending and compacting need exclusive access to the file.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long persistLastUsedInterval;
+
+    private @Nullable FileChannel channel;
+    private long end;
+
+    /**
+     * @param memoryMegabytes the maximum size of textures kept in memory, or 0 to not keep them in memory
+     * @param path the file to store textures in, or null to not store them on disk
+     */
+    SkinStore(int memoryMegabytes, @Nullable Path path) {
+        this(memoryMegabytes, path, PERSIST_LAST_USED_INTERVAL);
+    }
+
+    SkinStore(int memoryMegabytes, @Nullable Path path, long persistLastUsedInterval) {
+        this.persistLastUsedInterval = persistLastUsedInterval;
+        this.memory = memoryMegabytes <= 0 ? null : CacheBuilder.newBuilder()
+            .maximumWeight(memoryMegabytes * 1024L * 1024L)
+            .<String, byte[]>weigher((key, data) -> data.length)
+            .build();
+        this.path = path;
+
+        if (path != null) {
+            try {
+                open();
+            } catch (IOException e) {
+                GeyserImpl.getInstance().getLogger().error("Unable to open skin cache " + path + "; skins will not be stored on disk", e);
+                closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * @return the converted texture, or null if it has not been stored
+     */
+    byte @Nullable [] get(String key) {
+        if (memory != null) {
+            byte[] data = memory.getIfPresent(key);
+            if (data != null) {
+                Entry entry = index.get(key);
+                if (entry != null) {
+                    markUsed(key, entry);
+                }
+                return data;
+            }
+        }
+
+        Entry entry;
+        byte[] data;
+        lock.readLock().lock();
+        try {
+            // Looked up under the lock, as compacting moves every record and reopens the file
+            entry = index.get(key);
+            if (entry == null || channel == null) {
+                return null;
+            }
+            data = new byte[entry.length];
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long position = entry.offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read == -1) {
+                    return null;
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to read " + key + " from the skin cache: " + e.getMessage());
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        markUsed(key, entry);
+        if (memory != null) {
+            memory.put(key, data);
+        }
+        return data;
+    }
+
+    /**
+     * Updates when the texture was last used, so it expires based on when it was last used rather than when it was
+     * stored. The time is written to the file as well, at most once per interval.
+     */
+    private void markUsed(String key, Entry entry) {
+        long now = System.currentTimeMillis();
+        entry.lastUsed = now;
+        if (now - entry.persistedLastUsed < persistLastUsedInterval) {
+            return;
+        }
+
+        // Overwriting the time in place doesn't move any record, so it can run alongside reads
+        lock.readLock().lock();
+        try {
+            if (channel == null || index.get(key) != entry) {
+                // Compacting replaced the entry
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(now).flip();
+            writeFully(channel, buffer, entry.offset - Integer.BYTES - Long.BYTES);
+            entry.persistedLastUsed = now;
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to update " + key + " in the skin cache: " + e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(String key, byte[] data) {
+        if (memory != null) {
+            memory.put(key, data);
+        }
+        if (path == null) {
+            return;
+        }
+        Entry existing = index.get(key);
+        if (existing != null) {
+            markUsed(key, existing);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (channel == null || index.containsKey(key)) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long dataOffset = write(channel, end, key, now, data);
+            index.put(key, new Entry(dataOffset, data.length, now));
+            end = dataOffset + data.length;
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to write " + key + " to the skin cache: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the file without textures that have not been used since the given time.
+     *
+     * @return how many textures were removed
+     */
+    int compact(long usedBefore) {
+        if (path == null) {
+            return 0;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (channel == null) {
+                return 0;
+            }
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Map<String, Entry> compacted = new ConcurrentHashMap<>();
+            int removed = 0;
+            try (FileChannel output = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = writeHeader(output);
+                for (Map.Entry<String, Entry> mapEntry : index.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    if (entry.lastUsed < usedBefore) {
+                        removed++;
+                        continue;
+                    }
+
+                    byte[] data = new byte[entry.length];
+                    ByteBuffer buffer = ByteBuffer.wrap(data);
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer, entry.offset + buffer.position()) == -1) {
+                            throw new EOFException();
+                        }
+                    }
+
+                    long dataOffset = write(output, position, mapEntry.getKey(), entry.lastUsed, data);
+                    compacted.put(mapEntry.getKey(), new Entry(dataOffset, data.length, entry.lastUsed));
+                    position = dataOffset + data.length;
+                }
+            }
+
+            if (removed == 0) {
+                Files.deleteIfExists(temp);
+                return 0;
+            }
+
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index.clear();
+            index.putAll(compacted);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            end = channel.size();
+            return removed;
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().error("Unable to compact skin cache " + path, e);
+            closeQuietly();
+            return 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    void close() {
+        lock.writeLock().lock();
+        try {
+            closeQuietly();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (memory != null) {
+            memory.invalidateAll();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < Integer.BYTES) {
+            channel.truncate(0);
+            end = writeHeader(channel);
+            return;
+        }
+
+        // Index every complete record; a record cut short by a crash, and anything after it, is discarded
+        long position = 0;
+        // Not closed, as that would close the channel too
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+        try {
+            if (in.readInt() != MAGIC) {
+                GeyserImpl.getInstance().getLogger().warning("Skin cache " + path + " is not in a known format; it will be replaced.");
+                channel.truncate(0);
+                end = writeHeader(channel);
+                return;
+            }
+            position = Integer.BYTES;
+
+            while (true) {
+                byte[] key = new byte[in.readUnsignedShort()];
+                in.readFully(key);
+                long lastUsed = in.readLong();
+                int length = in.readInt();
+                long dataOffset = position + Short.BYTES + key.length + Long.BYTES + Integer.BYTES;
+                if (length < 0 || in.skipBytes(length) != length) {
+                    break;
+                }
+                index.put(new String(key, StandardCharsets.UTF_8), new Entry(dataOffset, length, lastUsed));
+                position = dataOffset + length;
+            }
+        } catch (EOFException ignored) {
+        }
+
+        if (channel.size() != position) {
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    private static long writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip();
+        writeFully(channel, buffer, 0);
+        return Integer.BYTES;
+    }
+
+    /**
+     * @return the offset the data was written at
+     */
+    private static long write(FileChannel channel, long position, String key, long lastUsed, byte[] data) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES + keyBytes.length + Long.BYTES + Integer.BYTES + data.length)
+            .putShort((short) keyBytes.length)
+            .put(keyBytes)
+            .putLong(lastUsed)
+            .putInt(data.length);
+        long dataOffset = position + buffer.position();
+        buffer.put(data).flip();
+        writeFully(channel, buffer, position);
+        return dataOffset;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void closeQuietly() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    private static final class Entry {
+        private final long offset;
+        private final int length;
+        private volatile long lastUsed;
+        /**
+         * The last used time that is stored in the file.
+         */
+        private volatile long persistedLastUsed;
+
+        private Entry(long offset, int length, long lastUsed) {
+            this.offset = offset;
+            this.length = length;
+            this.lastUsed = lastUsed;
+            this.persistedLastUsed = lastUsed;
+        }
+    }
+}
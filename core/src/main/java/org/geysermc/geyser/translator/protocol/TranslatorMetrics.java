@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol;
+
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long each packet translator takes, and how long packets wait for the session's event loop before they
+ * are translated. Only exists when enabled in the config, since timing every packet isn't free.
+ * <p>
+ * Recording doesn't allocate once a packet class has been seen, so it can stay enabled on busy servers.
+ */
+public final class TranslatorMetrics {
+    private final Map<Class<?>, PacketTimings> packets = new ConcurrentHashMap<>();
+    private final LatencyHistogram queueDelay = new LatencyHistogram();
+    private volatile long startedAt = System.nanoTime();
+
+    public void record(GeyserSession session, Class<?> packetClass, long nanos) {
+        PacketTimings timings = packets.get(packetClass);
+        if (timings == null) {
+            timings = packets.computeIfAbsent(packetClass, key -> new PacketTimings());
+        }
+        timings.record(nanos);
+        session.getTranslationTimings().record(nanos);
+    }
+
+    /**
+     * Records the time between a packet being handed to the session's event loop and its translation starting.
+     */
+    public void recordQueueDelay(long nanos) {
+        queueDelay.record(nanos);
+    }
+
+    /**
+     * @return the timings of every packet class that was translated since the metrics were last reset, slowest in total first
+     */
+    public List<PacketSnapshot> snapshot() {
+        List<PacketSnapshot> snapshots = new ArrayList<>(packets.size());
+        for (Map.Entry<Class<?>, PacketTimings> entry : packets.entrySet()) {
+            PacketTimings timings = entry.getValue();
+            LatencyHistogram latency = timings.latency;
+            snapshots.add(new PacketSnapshot(entry.getKey(), timings.count.sum(), timings.totalNanos.sum(),
+                latency.percentile(0.5), latency.percentile(0.99), latency.percentile(0.999)));
+        }
+        snapshots.sort(Comparator.comparingLong(PacketSnapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    public LatencyHistogram queueDelay() {
+        return queueDelay;
+    }
+
+    /**
+     * @return when these metrics started recording, as given by {@link System#nanoTime()}
+     */
+    public long startedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Clears all recorded timings. Timings recorded while resetting may be partially lost.
+     */
+    public void reset() {
+        packets.clear();
+        queueDelay.reset();
+        startedAt = System.nanoTime();
+    }
+
+    /**
+     * The timings of one packet class. Percentiles are in nanoseconds.
+     */
+    public record PacketSnapshot(Class<?> packetClass, long count, long totalNanos, long p50, long p99, long p999) {
+    }
+
+    private static final class PacketTimings {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            latency.record(nanos);
+        }
+    }
+
+    /**
+     * The time spent translating the packets of a single session.
+     */
+    public static final class SessionTimings {
+        private final LongAdder packets = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(long nanos) {
+            this.packets.increment();
+            this.nanos.add(nanos);
+        }
+
+        public long packets() {
+            return packets.sum();
+        }
+
+        public long nanos() {
+            return nanos.sum();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.java;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.kyori.adventure.key.Key;
+import org.cloudburstmc.protocol.bedrock.data.command.CommandData;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+import org.geysermc.mcprotocollib.protocol.data.game.command.CommandNode;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundCommandsPacket;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shares translated command trees between sessions, since players on the same server with the same permissions are sent
+ * identical trees, and servers resend them on every permission change or world switch.
+ * <p>
+ * Trees are keyed by their nodes and everything else that goes into the translated commands: the session's locale, and
+ * the dimensions and enchantments that are suggested as arguments. Geyser's own commands are added per session
+ * afterwards, since they depend on the player's permissions. Teams are left out, as servers often create a team for
+ * every player; they are sent to each session separately as a soft enum.
+ */
+public final class CommandTreeCache {
+    private static final int MAX_TREES = 64;
+
+    private final Cache<TreeKey, Tree> trees = CacheBuilder.newBuilder()
+        .maximumSize(MAX_TREES)
+        .build();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    Tree get(GeyserSession session, ClientboundCommandsPacket packet, Supplier<Tree> translator) {
+        String[] levels = session.getLevels();
+        TreeKey key = new TreeKey(new Nodes(packet.getNodes()), packet.getFirstNodeIndex(), session.locale(),
+            levels == null ? List.of() : List.of(levels),
+            session.getRegistryCache().registry(JavaRegistries.ENCHANTMENT).keys());
+
+        boolean[] translated = new boolean[1];
+        Tree tree;
+        try {
+            tree = trees.get(key, () -> {
+                translated[0] = true;
+                return translator.get();
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (translated[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return tree;
+    }
+
+    /**
+     * @return how many translated trees are cached
+     */
+    public long size() {
+        return trees.size();
+    }
+
+    /**
+     * @return how many times a session could use an already translated tree
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return how many times a tree had to be translated
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * A translated command tree. Must not be modified, since it is shared between sessions.
+     *
+     * @param commands the commands, as passed to {@link org.geysermc.geyser.api.event.java.ServerDefineCommandsEvent}
+     * @param commandData the Bedrock command for each entry in {@code commands}
+     * @param usesTeams whether any command takes a team, so the session's teams need to be sent
+     */
+    record Tree(List<JavaCommandsTranslator.BedrockCommandInfo> commands, List<CommandData> commandData,
+                List<String> knownCommands, List<String> restrictedCommands, Set<String> knownAliases, boolean usesTeams) {
+    }
+
+    private record TreeKey(Nodes nodes, int firstNodeIndex, String locale, List<String> levels, List<Key> enchantments) {
+    }
+
+    /**
+     * Compares command nodes by their contents.
+     */
+    private record Nodes(CommandNode[] nodes) {
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Nodes other && Arrays.equals(nodes, other.nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+    }
+}
@@ -39,6 +39,7 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.cloudburstmc.protocol.bedrock.data.command.*;
 import org.cloudburstmc.protocol.bedrock.packet.AvailableCommandsPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSoftEnumPacket;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.event.java.ServerDefineCommandsEvent;
 import org.geysermc.geyser.api.util.PlatformType;
@@ -72,6 +73,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     private static final String[] ENUM_BOOLEAN = {"true", "false"};
     private static final String[] VALID_COLORS;
     private static final String[] VALID_SCOREBOARD_SLOTS;
+    private static final CommandTreeCache TREES = new CommandTreeCache();
 
     private static final Hash.Strategy<BedrockCommandInfo> PARAM_STRATEGY = new Hash.Strategy<>() {
         @Override
@@ -133,9 +135,85 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             return;
         }
 
+        CommandTreeCache.Tree tree = TREES.get(session, packet, () -> translateTree(session, packet));
+
+        session.setKnownCommands(tree.knownCommands());
+        session.setRestrictedCommands(tree.restrictedCommands());
+
+        // Event listeners may remove commands from this set
+        Set<BedrockCommandInfo> commands = new LinkedHashSet<>(tree.commands());
+
+        var eventBus = session.getGeyser().eventBus();
+
+        var event = new ServerDefineCommandsEvent(session, commands);
+        eventBus.fire(event);
+        if (event.isCancelled()) {
+            return;
+        }
+
+        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands);
+        eventBus.fire(oldEvent);
+        if (oldEvent.isCancelled()) {
+            return;
+        }
+
+        List<CommandData> commandData = new ArrayList<>(tree.commandData().size() + 1);
+        boolean helpAdded = false;
+
+        // Loop through all the found commands
+        for (int i = 0; i < tree.commands().size(); i++) {
+            if (!commands.contains(tree.commands().get(i))) {
+                continue;
+            }
+
+            CommandData data = tree.commandData().get(i);
+            commandData.add(data);
+
+            if (data.getName().equals("help")) {
+                helpAdded = true;
+            }
+        }
+
+        if (!helpAdded) {
+            // https://github.com/GeyserMC/Geyser/issues/2573 if Brigadier does not send the help command.
+            commandData.add(createFakeHelpCommand());
+        }
+
+        if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
+            session.getGeyser().commandRegistry().export(session, commandData, new HashSet<>(tree.knownAliases()));
+        }
+
+        // Add our commands to the AvailableCommandsPacket for the bedrock client
+        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
+        availableCommandsPacket.getCommands().addAll(commandData);
+
+        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
+
+        // Finally, send the commands to the client
+        session.sendUpstreamPacket(availableCommandsPacket);
+
+        if (tree.usesTeams()) {
+            // The shared tree is sent without teams; fill in this session's teams
+            UpdateSoftEnumPacket teamsPacket = new UpdateSoftEnumPacket();
+            teamsPacket.setType(SoftEnumUpdateType.SET);
+            teamsPacket.setSoftEnum(new CommandEnumData("Geyser_Teams", session.getWorldCache().getScoreboard().getTeamNames(), true));
+            session.sendUpstreamPacket(teamsPacket);
+        }
+    }
+
+    /**
+     * @return the translated command trees shared between sessions
+     */
+    public static CommandTreeCache trees() {
+        return TREES;
+    }
+
+    /**
+     * Translates the server's command tree, before any event listeners or Geyser's own commands are applied.
+     */
+    private static CommandTreeCache.Tree translateTree(GeyserSession session, ClientboundCommandsPacket packet) {
         CommandRegistry registry = session.getGeyser().commandRegistry();
         CommandNode[] nodes = packet.getNodes();
-        List<CommandData> commandData = new ArrayList<>();
         IntSet commandNodes = new IntOpenHashSet();
         Set<String> knownAliases = new HashSet<>();
         Map<BedrockCommandInfo, Set<String>> commands = new Object2ObjectOpenCustomHashMap<>(PARAM_STRATEGY);
@@ -176,29 +254,11 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             }
         }
 
-        session.setKnownCommands(knownCommands);
-        session.setRestrictedCommands(restrictedCommands);
-
-        var eventBus = session.getGeyser().eventBus();
-
-        var event = new ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(event);
-        if (event.isCancelled()) {
-            return;
-        }
-
-        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(oldEvent);
-        if (oldEvent.isCancelled()) {
-            return;
-        }
-
         // The command flags, set to NOT_CHEAT so known commands can be used while achievements are enabled.
         Set<CommandData.Flag> flags = Set.of(CommandData.Flag.NOT_CHEAT);
 
-        boolean helpAdded = false;
-
-        // Loop through all the found commands
+        List<BedrockCommandInfo> infos = new ArrayList<>(commands.size());
+        List<CommandData> commandData = new ArrayList<>(commands.size());
         for (Map.Entry<BedrockCommandInfo, Set<String>> entry : commands.entrySet()) {
             String commandName = entry.getValue().iterator().next(); // We know this has a value
 
@@ -212,31 +272,13 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             CommandEnumData aliases = new CommandEnumData(commandName + "Aliases", values, false);
 
             // Build the completed command and add it to the final list
-            CommandData data = new CommandData(commandName, entry.getKey().description(), flags, CommandPermission.ANY, aliases, Collections.emptyList(), entry.getKey().paramData());
-            commandData.add(data);
-
-            if (commandName.equals("help")) {
-                helpAdded = true;
-            }
-        }
-
-        if (!helpAdded) {
-            // https://github.com/GeyserMC/Geyser/issues/2573 if Brigadier does not send the help command.
-            commandData.add(createFakeHelpCommand());
+            infos.add(entry.getKey());
+            commandData.add(new CommandData(commandName, entry.getKey().description(), flags, CommandPermission.ANY, aliases, Collections.emptyList(), entry.getKey().paramData()));
         }
 
-        if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
-            session.getGeyser().commandRegistry().export(session, commandData, knownAliases);
-        }
-
-        // Add our commands to the AvailableCommandsPacket for the bedrock client
-        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
-        availableCommandsPacket.getCommands().addAll(commandData);
-
-        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
-
-        // Finally, send the commands to the client
-        session.sendUpstreamPacket(availableCommandsPacket);
+        boolean usesTeams = Arrays.stream(nodes).anyMatch(node -> node.getParser() == CommandParser.TEAM);
+        return new CommandTreeCache.Tree(List.copyOf(infos), List.copyOf(commandData), List.copyOf(knownCommands),
+            List.copyOf(restrictedCommands), Set.copyOf(knownAliases), usesTeams);
     }
 
     /**
@@ -323,7 +365,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     /**
      * Stores the command description and parameter data for best optimizing the Bedrock commands packet.
      */
-    private record BedrockCommandInfo(String name, String description, CommandOverloadData[] paramData) implements
+    record BedrockCommandInfo(String name, String description, CommandOverloadData[] paramData) implements
             org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent.CommandInfo,
             ServerDefineCommandsEvent.CommandInfo
     {
@@ -389,9 +431,8 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             if (teams != null) {
                 return teams;
             }
-            return (teams = new CommandEnumData("Geyser_Teams",
-                    session.getWorldCache().getScoreboard().getTeamNames(), true
-            ));
+            // Left empty, as the tree is shared between sessions; each session's teams are set once it is sent
+            return (teams = new CommandEnumData("Geyser_Teams", Collections.emptyMap(), true));
         }
     }
 
@@ -86,6 +86,9 @@ public class JavaLoginTranslator extends PacketTranslator<ClientboundLoginPacket
 
             // Clear waypoints
             session.getWaypointCache().clear();
+
+            // Map IDs are per server
+            session.getMapCache().clear();
         }
 
         session.setDimensionType(newDimension);
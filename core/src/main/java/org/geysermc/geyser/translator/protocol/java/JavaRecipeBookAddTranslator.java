@@ -57,6 +57,7 @@ import org.geysermc.geyser.session.cache.tags.Tag;
 import org.geysermc.geyser.translator.item.ItemTranslator;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
+import org.geysermc.geyser.translator.protocol.java.RecipeTranslationCache.TranslatedRecipe;
 import org.geysermc.mcprotocollib.protocol.data.game.item.ItemStack;
 import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.RecipeDisplay;
 import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.RecipeDisplayEntry;
@@ -87,6 +88,7 @@ import java.util.stream.Collectors;
 
 @Translator(packet = ClientboundRecipeBookAddPacket.class)
 public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRecipeBookAddPacket> {
+    private static final RecipeTranslationCache RECIPES = new RecipeTranslationCache();
 
     @Override
     public void translate(GeyserSession session, ClientboundRecipeBookAddPacket packet) {
@@ -105,13 +107,14 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
             switch (display.getType()) {
                 case CRAFTING_SHAPED -> {
                     ShapedCraftingRecipeDisplay shapedRecipe = (ShapedCraftingRecipeDisplay) display;
-                    var bedrockRecipes = combinations(session, display, shapedRecipe.ingredients());
-                    if (bedrockRecipes == null) {
+                    TranslatedRecipe bedrockRecipes = RECIPES.get(session, display, shapedRecipe.ingredients(),
+                        () -> combinations(session, display, shapedRecipe.ingredients()));
+                    if (bedrockRecipes == TranslatedRecipe.SKIPPED) {
                         continue;
                     }
                     List<String> bedrockRecipeIds = new ArrayList<>();
-                    ItemData output = bedrockRecipes.right();
-                    List<List<ItemDescriptorWithCount>> left = bedrockRecipes.left();
+                    ItemData output = bedrockRecipes.output();
+                    List<List<ItemDescriptorWithCount>> left = bedrockRecipes.inputs();
                     GeyserRecipe geyserRecipe = new GeyserShapedRecipe(shapedRecipe);
                     for (int i = 0; i < left.size(); i++) {
                         List<ItemDescriptorWithCount> inputs = left.get(i);
@@ -128,13 +131,14 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
                 }
                 case CRAFTING_SHAPELESS -> {
                     ShapelessCraftingRecipeDisplay shapelessRecipe = (ShapelessCraftingRecipeDisplay) display;
-                    var bedrockRecipes = combinations(session, display, shapelessRecipe.ingredients());
-                    if (bedrockRecipes == null) {
+                    TranslatedRecipe bedrockRecipes = RECIPES.get(session, display, shapelessRecipe.ingredients(),
+                        () -> combinations(session, display, shapelessRecipe.ingredients()));
+                    if (bedrockRecipes == TranslatedRecipe.SKIPPED) {
                         continue;
                     }
                     List<String> bedrockRecipeIds = new ArrayList<>();
-                    ItemData output = bedrockRecipes.right();
-                    List<List<ItemDescriptorWithCount>> left = bedrockRecipes.left();
+                    ItemData output = bedrockRecipes.output();
+                    List<List<ItemDescriptorWithCount>> left = bedrockRecipes.inputs();
                     GeyserRecipe geyserRecipe = new GeyserShapelessRecipe(shapelessRecipe);
                     for (int i = 0; i < left.size(); i++) {
                         List<ItemDescriptorWithCount> inputs = left.get(i);
@@ -154,33 +158,23 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
                         continue;
                     }
                     SmithingRecipeDisplay smithingRecipe = (SmithingRecipeDisplay) display;
-                    Pair<Item, ItemData> output = translateToOutput(session, smithingRecipe.result());
-                    if (output == null) {
-                        continue;
-                    }
-
-                    List<ItemDescriptorWithCount> bases = translateToInput(session, smithingRecipe.base());
-                    List<ItemDescriptorWithCount> templates = translateToInput(session, smithingRecipe.template());
-                    List<ItemDescriptorWithCount> additions = translateToInput(session, smithingRecipe.addition());
-
-                    if (bases == null || templates == null || additions == null) {
+                    TranslatedRecipe bedrockRecipes = RECIPES.get(session, display,
+                        List.of(smithingRecipe.template(), smithingRecipe.base(), smithingRecipe.addition()),
+                        () -> translateSmithing(session, smithingRecipe));
+                    if (bedrockRecipes == TranslatedRecipe.SKIPPED) {
                         continue;
                     }
 
                     int i = 0;
                     List<String> bedrockRecipeIds = new ArrayList<>();
-                    for (ItemDescriptorWithCount template : templates) {
-                        for (ItemDescriptorWithCount base : bases) {
-                            for (ItemDescriptorWithCount addition : additions) {
-                                String id = contents.id() + "_" + i++;
-                                // Note: vanilla inputs use aux value of Short.MAX_VALUE
-                                craftingDataPacket.getCraftingData().add(SmithingTransformRecipeData.of(id,
-                                        template, base, addition, output.right(), "smithing_table", netId++));
-
-                                recipesPacket.getUnlockedRecipes().add(id);
-                                bedrockRecipeIds.add(id);
-                            }
-                        }
+                    for (List<ItemDescriptorWithCount> inputs : bedrockRecipes.inputs()) {
+                        String id = contents.id() + "_" + i++;
+                        // Note: vanilla inputs use aux value of Short.MAX_VALUE
+                        craftingDataPacket.getCraftingData().add(SmithingTransformRecipeData.of(id,
+                                inputs.get(0), inputs.get(1), inputs.get(2), bedrockRecipes.output(), "smithing_table", netId++));
+
+                        recipesPacket.getUnlockedRecipes().add(id);
+                        bedrockRecipeIds.add(id);
                     }
                     javaToBedrockRecipeIds.put(contents.id(), bedrockRecipeIds);
                     session.getSmithingRecipes().add(new GeyserSmithingRecipe(smithingRecipe));
@@ -201,6 +195,41 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
         TAG_TO_ITEM_DESCRIPTOR_CACHE.remove();
     }
 
+    /**
+     * @return the translated recipes shared between sessions
+     */
+    public static RecipeTranslationCache recipes() {
+        return RECIPES;
+    }
+
+    /**
+     * @return every combination of template, base and addition, in that order
+     */
+    private TranslatedRecipe translateSmithing(GeyserSession session, SmithingRecipeDisplay smithingRecipe) {
+        Pair<Item, ItemData> output = translateToOutput(session, smithingRecipe.result());
+        if (output == null) {
+            return TranslatedRecipe.SKIPPED;
+        }
+
+        List<ItemDescriptorWithCount> bases = translateToInput(session, smithingRecipe.base());
+        List<ItemDescriptorWithCount> templates = translateToInput(session, smithingRecipe.template());
+        List<ItemDescriptorWithCount> additions = translateToInput(session, smithingRecipe.addition());
+
+        if (bases == null || templates == null || additions == null) {
+            return TranslatedRecipe.SKIPPED;
+        }
+
+        List<List<ItemDescriptorWithCount>> inputs = new ArrayList<>(templates.size() * bases.size() * additions.size());
+        for (ItemDescriptorWithCount template : templates) {
+            for (ItemDescriptorWithCount base : bases) {
+                for (ItemDescriptorWithCount addition : additions) {
+                    inputs.add(List.of(template, base, addition));
+                }
+            }
+        }
+        return new TranslatedRecipe(List.copyOf(inputs), output.right());
+    }
+
     // Arrays are usually an issue in maps, but because it's referencing the tag array that is unchanged, it actually works out for us.
     private static final ThreadLocal<Map<int[], List<ItemDescriptorWithCount>>> TAG_TO_ITEM_DESCRIPTOR_CACHE = ThreadLocal.withInitial(Object2ObjectOpenHashMap::new);
 
@@ -340,12 +369,12 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
             .toList();
     }
 
-    private Pair<List<List<ItemDescriptorWithCount>>, ItemData> combinations(GeyserSession session, RecipeDisplay display, List<SlotDisplay> ingredients) {
+    private TranslatedRecipe combinations(GeyserSession session, RecipeDisplay display, List<SlotDisplay> ingredients) {
         Pair<Item, ItemData> pair = translateToOutput(session, display.result());
         if (pair == null || !pair.right().isValid()) {
             // Likely modded item Bedrock will complain about
             // Implementation note: ItemData#isValid() may return true for air because count might be > 0 and the air definition may not be ItemDefinition.AIR
-            return null;
+            return TranslatedRecipe.SKIPPED;
         }
 
         ItemData output = pair.right();
@@ -355,7 +384,6 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
         }
 
         boolean empty = true;
-        boolean complexInputs = false;
         List<List<ItemDescriptorWithCount>> inputs = new ArrayList<>(ingredients.size());
         for (SlotDisplay input : ingredients) {
             List<ItemDescriptorWithCount> translated = translateToInput(session, input);
@@ -366,12 +394,27 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
             if (translated.size() != 1 || translated.get(0) != ItemDescriptorWithCount.EMPTY) {
                 empty = false;
             }
-            complexInputs |= translated.size() > 1;
         }
         if (empty) {
             // Crashes Bedrock 1.19.70 otherwise
             // Fixes https://github.com/GeyserMC/Geyser/issues/3549
-            return null;
+            return TranslatedRecipe.SKIPPED;
+        }
+
+        return new TranslatedRecipe(expandInputs(inputs), output);
+    }
+
+    /**
+     * Turns the translated descriptors of each ingredient into the Bedrock recipes needed to cover them, as Bedrock only
+     * accepts one descriptor per slot.
+     *
+     * @param inputs the descriptors each ingredient accepts
+     * @return every combination of descriptors if there are few enough, otherwise one recipe per descriptor
+     */
+    static List<List<ItemDescriptorWithCount>> expandInputs(List<List<ItemDescriptorWithCount>> inputs) {
+        boolean complexInputs = false;
+        for (List<ItemDescriptorWithCount> list : inputs) {
+            complexInputs |= list.size() > 1;
         }
 
         if (complexInputs) {
@@ -386,7 +429,7 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
                 }
             }
             if (complexInputs) {
-                return Pair.of(Lists.cartesianProduct(inputs), output);
+                return Lists.cartesianProduct(inputs);
             }
         }
 
@@ -410,7 +453,7 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
             }).toList());
         }
 
-        return Pair.of(finalRecipes, output);
+        return finalRecipes;
     }
 
     static class ItemDescriptorWithCountComparator implements Comparator<ItemDescriptorWithCount> {
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.java;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.kyori.adventure.key.Key;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.cloudburstmc.protocol.bedrock.data.inventory.descriptor.ItemDescriptorWithCount;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+import org.geysermc.geyser.session.cache.tags.NetworkIdSet;
+import org.geysermc.geyser.session.cache.tags.Tag;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.RecipeDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.CompositeSlotDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.SlotDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.TagSlotDisplay;
+import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.WithRemainderSlotDisplay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Shares translated recipe inputs and outputs between sessions, since every player on the same server is sent
+ * essentially the same recipe book when joining.
+ * <p>
+ * Recipes are keyed by their display, the session's Bedrock protocol version (which decides item mappings and Bedrock
+ * tags), the session's locale and tooltip setting (which can end up in output items), and the contents of the tags
+ * the recipe uses. Tag contents are compared by identity, since sessions with identical tags share them, see
+ * {@link org.geysermc.geyser.session.cache.tags.TagStore}. Recipe IDs, network IDs and UUIDs are still assigned per
+ * session.
+ */
+public final class RecipeTranslationCache {
+    private static final int MAX_RECIPES = 8192;
+
+    private final Cache<RecipeKey, TranslatedRecipe> recipes = CacheBuilder.newBuilder()
+        .maximumSize(MAX_RECIPES)
+        .build();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param inputs the slots of the display that are translated as inputs
+     */
+    TranslatedRecipe get(GeyserSession session, RecipeDisplay display, List<SlotDisplay> inputs, Supplier<TranslatedRecipe> translator) {
+        RecipeKey key = key(display, inputs, session.getUpstream().getProtocolVersion(), session.locale(),
+            session.isAdvancedTooltips(), tag -> session.getTagCache().getSet(new Tag<>(JavaRegistries.ITEM, tag)));
+        return get(key, translator);
+    }
+
+    TranslatedRecipe get(RecipeKey key, Supplier<TranslatedRecipe> translator) {
+        boolean[] translated = new boolean[1];
+        TranslatedRecipe recipe;
+        try {
+            recipe = recipes.get(key, () -> {
+                translated[0] = true;
+                return translator.get();
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (translated[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return recipe;
+    }
+
+    static RecipeKey key(RecipeDisplay display, List<SlotDisplay> inputs, int protocolVersion, String locale,
+                         boolean advancedTooltips, Function<Key, NetworkIdSet> tags) {
+        List<NetworkIdSet> tagContents = new ArrayList<>(0);
+        for (SlotDisplay input : inputs) {
+            collectTags(input, tags, tagContents);
+        }
+        return new RecipeKey(display, protocolVersion, locale, advancedTooltips, tagContents);
+    }
+
+    private static void collectTags(SlotDisplay slotDisplay, Function<Key, NetworkIdSet> tags, List<NetworkIdSet> tagContents) {
+        if (slotDisplay instanceof TagSlotDisplay tagSlot) {
+            tagContents.add(tags.apply(tagSlot.tag()));
+        } else if (slotDisplay instanceof CompositeSlotDisplay composite) {
+            for (SlotDisplay subDisplay : composite.contents()) {
+                collectTags(subDisplay, tags, tagContents);
+            }
+        } else if (slotDisplay instanceof WithRemainderSlotDisplay remainder) {
+            collectTags(remainder.input(), tags, tagContents);
+        }
+    }
+
+    /**
+     * @return how many translated recipes are cached
+     */
+    public long size() {
+        return recipes.size();
+    }
+
+    /**
+     * @return how many times a session could use an already translated recipe
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return how many times a recipe had to be translated
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * The translated parts of a recipe. Must not be modified, since it is shared between sessions.
+     *
+     * @param inputs every combination of inputs that the recipe is sent as
+     * @param output the recipe result
+     */
+    record TranslatedRecipe(List<List<ItemDescriptorWithCount>> inputs, ItemData output) {
+        /**
+         * A recipe that can't be sent to Bedrock.
+         */
+        static final TranslatedRecipe SKIPPED = new TranslatedRecipe(List.of(), ItemData.AIR);
+    }
+
+    record RecipeKey(RecipeDisplay display, int protocolVersion, String locale, boolean advancedTooltips,
+                     List<NetworkIdSet> tags) {
+    }
+}
@@ -50,6 +50,10 @@ public class JavaBlockEntityDataTranslator extends PacketTranslator<ClientboundB
 
     @Override
     public void translate(GeyserSession session, ClientboundBlockEntityDataPacket packet) {
+        if (session.getChunkTranslationQueue().deferIfPending(() -> translate(session, packet))) {
+            return;
+        }
+
         final BlockEntityType type = packet.getType();
         if (type == null) {
             return;
@@ -92,28 +92,28 @@ public class JavaBlockEventTranslator extends PacketTranslator<ClientboundBlockE
                 // However, the retracting event is not fully covered. (Spigot)
                 // Mod platforms only handle pistons moving blocks; not the retracting of pistons.
                 if (action == PistonValueType.PULLING || action == PistonValueType.CANCELLED_MID_PUSH) {
-                    BlockState pistonBlock = session.getGeyser().getWorldManager().blockAt(session, position);
+                    // Look up the piston and the block in front of it together, so the platform only needs one round trip
+                    Vector3i blockInFrontPos = position.add(direction.getUnitVector());
+                    session.getGeyser().getWorldManager().getBlocksAtAsync(session, position, blockInFrontPos).thenAccept(blocks -> session.ensureInEventLoop(() -> {
+                        BlockState pistonBlock = BlockState.of(blocks[0]);
 
-                    // Retracting sticky pistons is an exception, since the event is not called on Spigot from 1.13.2 - 1.17.1
-                    // See https://github.com/PaperMC/Paper/blob/6fa1983e9ce177a4a412d5b950fd978620174777/patches/server/0304-Fire-BlockPistonRetractEvent-for-all-empty-pistons.patch
-                    boolean isSticky = isSticky(pistonBlock);
-                    if (session.getGeyser().getPlatformType() == PlatformType.SPIGOT && !isSticky) {
-                        return;
-                    }
+                        // Retracting sticky pistons is an exception, since the event is not called on Spigot from 1.13.2 - 1.17.1
+                        // See https://github.com/PaperMC/Paper/blob/6fa1983e9ce177a4a412d5b950fd978620174777/patches/server/0304-Fire-BlockPistonRetractEvent-for-all-empty-pistons.patch
+                        boolean isSticky = isSticky(pistonBlock);
+                        if (session.getGeyser().getPlatformType() == PlatformType.SPIGOT && !isSticky) {
+                            return;
+                        }
 
-                    // Only sticky pistons that don't pull any blocks are affected
-                    if (action != PistonValueType.CANCELLED_MID_PUSH && isSticky) {
-                        Vector3i blockInFrontPos = position.add(direction.getUnitVector());
-                        int blockInFront = session.getGeyser().getWorldManager().getBlockAt(session, blockInFrontPos);
-                        if (blockInFront != Block.JAVA_AIR_ID) {
+                        // Only sticky pistons that don't pull any blocks are affected
+                        if (action != PistonValueType.CANCELLED_MID_PUSH && isSticky && blocks[1] != Block.JAVA_AIR_ID) {
                             // Piston pulled something
                             return;
                         }
-                    }
-                    PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> new PistonBlockEntity(session, pos, direction, isSticky, true));
-                    if (blockEntity.getAction() != action) {
-                        blockEntity.setAction(action, Object2ObjectMaps.emptyMap());
-                    }
+                        PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> new PistonBlockEntity(session, pos, direction, isSticky, true));
+                        if (blockEntity.getAction() != action) {
+                            blockEntity.setAction(action, Object2ObjectMaps.emptyMap());
+                        }
+                    }));
                 }
             } else {
                 PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> {
@@ -42,6 +42,10 @@ public class JavaBlockUpdateTranslator extends PacketTranslator<ClientboundBlock
 
     @Override
     public void translate(GeyserSession session, ClientboundBlockUpdatePacket packet) {
+        if (session.getChunkTranslationQueue().deferIfPending(() -> translate(session, packet))) {
+            return;
+        }
+
         Vector3i pos = packet.getEntry().getPosition();
         WorldManager worldManager = session.getGeyser().getWorldManager();
         // Platforms where Geyser has direct server access don't allow us to detect actual block changes,
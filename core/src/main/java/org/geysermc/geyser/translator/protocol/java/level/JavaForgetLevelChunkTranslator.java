@@ -40,6 +40,10 @@ public class JavaForgetLevelChunkTranslator extends PacketTranslator<Clientbound
 
     @Override
     public void translate(GeyserSession session, ClientboundForgetLevelChunkPacket packet) {
+        if (session.getChunkTranslationQueue().deferIfPending(() -> translate(session, packet))) {
+            return;
+        }
+
         session.getChunkCache().removeChunk(packet.getX(), packet.getZ());
 
         // Checks if a skull is in an unloaded chunk then removes it
@@ -36,6 +36,7 @@ import it.unimi.dsi.fastutil.ints.IntLists;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NBTOutputStream;
 import org.cloudburstmc.nbt.NbtMap;
@@ -47,13 +48,17 @@ import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.block.type.BlockState;
 import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.ChunkEncodingCache;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
 import org.geysermc.geyser.level.chunk.bitarray.BitArray;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayTranscoder;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
 import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
+import org.geysermc.geyser.metrics.ServerMetrics;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+import org.geysermc.geyser.session.cache.registry.JavaRegistry;
 import org.geysermc.geyser.translator.level.BiomeTranslator;
 import org.geysermc.geyser.translator.level.block.entity.BedrockChunkWantsBlockEntityTag;
 import org.geysermc.geyser.translator.level.block.entity.BlockEntityTranslator;
@@ -74,9 +79,11 @@ import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityType
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
 
 import static org.geysermc.geyser.util.ChunkUtils.*;
 
@@ -93,355 +100,467 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         }
 
         // Ensure that, if the player is using lower world heights, the position is not offset
-        int yOffset = session.getChunkCache().getChunkMinY();
-        int chunkSize = session.getChunkCache().getChunkHeightY();
+        ColumnContext context = new ColumnContext(session, packet, useExtendedCollisions,
+                session.getChunkCache().getChunkMinY(), session.getChunkCache().getChunkHeightY(),
+                session.getBedrockDimension(), session.getRegistryCache().registry(JavaRegistries.BIOME));
+
+        ChunkEncodingCache encodingCache = session.getGeyser().getChunkEncodingCache();
+        ChunkEncodingCache.Key cacheKey = null;
+        if (encodingCache != null && ChunkEncodingCache.isCacheable(packet)) {
+            cacheKey = ChunkEncodingCache.key(session, packet, useExtendedCollisions);
+            ChunkEncodingCache.Entry cached = encodingCache.retain(cacheKey);
+            if (cached != null) {
+                // Another session already encoded this exact column; only our own Java chunk cache needs updating
+                session.getChunkTranslationQueue().runInOrder(() -> {
+                    if (!session.getErosionHandler().isActive()) {
+                        DataPalette[] javaChunks = new DataPalette[context.chunkSize()];
+                        ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
+                        for (int sectionY = 0; sectionY < context.chunkSize(); sectionY++) {
+                            javaChunks[sectionY] = context.readSection(in).getBlockData();
+                        }
+                        session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
+                    }
+                    sendLevelChunk(session, packet, cached.sectionCount(), cached.payload());
+                });
+                return;
+            }
+        }
 
-        DataPalette[] javaChunks = new DataPalette[chunkSize];
-        DataPalette[] javaBiomes = new DataPalette[chunkSize];
+        final ChunkEncodingCache.Key finalCacheKey = cacheKey;
+        ServerMetrics metrics = session.getGeyser().getServerMetrics();
+        session.getChunkTranslationQueue().submit(() -> {
+            if (metrics == null) {
+                return translateColumn(context);
+            }
+            long start = System.nanoTime();
+            try {
+                return translateColumn(context);
+            } finally {
+                metrics.recordChunkTranslation(System.nanoTime() - start);
+            }
+        }, column -> encodeColumn(context, column, finalCacheKey));
+    }
 
-        final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
-        final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>(blockEntities.length);
+    /**
+     * Reads the Java chunk column and converts its block and biome data to Bedrock.
+     * This only reads from the session, and may run off the session event loop.
+     */
+    private static TranslatedColumn translateColumn(ColumnContext context) {
+        int chunkSize = context.chunkSize();
+        ChunkSection[] javaSections = new ChunkSection[chunkSize];
+        DataPalette[] javaChunks = new DataPalette[chunkSize];
+        BlockStorage[] bedrockBiomes = new BlockStorage[chunkSize];
 
-        BitSet waterloggedPaletteIds = new BitSet();
-        BitSet bedrockOnlyBlockEntityIds = new BitSet();
+        ByteBuf in = Unpooled.wrappedBuffer(context.packet().getChunkData());
+        for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+            ChunkSection javaSection = context.readSection(in);
+            javaSections[sectionY] = javaSection;
+            javaChunks[sectionY] = javaSection.getBlockData();
+        }
 
-        BedrockDimension bedrockDimension = session.getBedrockDimension();
+        BedrockDimension bedrockDimension = context.bedrockDimension();
         int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
 
-        int sectionCount;
-        byte[] payload;
-        ByteBuf byteBuf = null;
-
         // calculate the difference between the java dimension minY and the bedrock dimension minY as
         // the java chunk sections may need to be placed higher up in the bedrock chunk section array
-        int sectionCountDiff = yOffset - (bedrockDimension.minY() >> 4);
+        int sectionCountDiff = context.yOffset() - (bedrockDimension.minY() >> 4);
         GeyserChunkSection[] sections = new GeyserChunkSection[chunkSize + sectionCountDiff];
+        List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>();
 
-        try {
-            ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
-            boolean extendedCollisionNextSection = false;
+        if (!context.useExtendedCollisions() && ForkJoinTask.inForkJoinPool()) {
+            // Without extended collisions, sections don't depend on each other and can be converted in parallel
+            List<ForkJoinTask<List<NbtMap>>> tasks = new ArrayList<>(chunkSize);
+            for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+                int bedrockSectionY = sectionY + sectionCountDiff;
+                ChunkSection javaSection = javaSections[sectionY];
+                if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY || javaSection.isBlockCountEmpty()) {
+                    continue;
+                }
+
+                final int finalSectionY = sectionY;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    List<NbtMap> sectionBlockEntities = new ObjectArrayList<>(0);
+                    sections[bedrockSectionY] = translateSection(context, javaSection, finalSectionY, sectionBlockEntities, null);
+                    return sectionBlockEntities;
+                }));
+            }
+            for (ForkJoinTask<List<NbtMap>> task : ForkJoinTask.invokeAll(tasks)) {
+                bedrockBlockEntities.addAll(task.join());
+            }
+        } else {
+            ColumnState state = new ColumnState();
             for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
-                ChunkSection javaSection = MinecraftTypes.readChunkSection(in, BlockRegistries.BLOCK_STATES.get().size(),
-                    session.getRegistryCache().registry(JavaRegistries.BIOME).size());
-                javaChunks[sectionY] = javaSection.getBlockData();
-                javaBiomes[sectionY] = javaSection.getBiomeData();
-                boolean extendedCollision = extendedCollisionNextSection;
-                boolean thisExtendedCollisionNextSection = false;
+                ChunkSection javaSection = javaSections[sectionY];
+                boolean extendedCollision = state.extendedCollisionNextSection;
 
                 int bedrockSectionY = sectionY + sectionCountDiff;
-                int subChunkIndex = sectionY + yOffset;
+                int subChunkIndex = sectionY + context.yOffset();
                 if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
                     // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
-                    if (useExtendedCollisions) {
+                    if (context.useExtendedCollisions()) {
                         EXTENDED_COLLISIONS_STORAGE.get().clear();
                     }
-                    extendedCollisionNextSection = false;
+                    state.extendedCollisionNextSection = false;
                     continue;
                 }
 
                 // No need to encode an empty section...
                 if (javaSection.isBlockCountEmpty()) {
                     // Unless we need to send extended collisions
-                    if (useExtendedCollisions) {
+                    if (context.useExtendedCollisions()) {
                         if (extendedCollision) {
                             int blocks = EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() + 1;
                             BitArray bedrockData = BitArrayVersion.forBitsCeil(Integer.SIZE - Integer.numberOfLeadingZeros(blocks)).createArray(BlockStorage.SIZE);
                             BlockStorage layer0 = new BlockStorage(bedrockData, new IntArrayList(blocks));
-    
-                            layer0.idFor(session.getBlockMappings().getBedrockAir().getRuntimeId());
+
+                            layer0.idFor(context.session().getBlockMappings().getBedrockAir().getRuntimeId());
                             for (int yzx = 0; yzx < BlockStorage.SIZE / 16; yzx++) {
                                 if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
                                     bedrockData.set(indexYZXtoXZY(yzx), layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
                                     EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
                                 }
                             }
-    
+
                             BlockStorage[] layers = new BlockStorage[]{ layer0 };
                             sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
                         }
                         EXTENDED_COLLISIONS_STORAGE.get().clear();
-                        extendedCollisionNextSection = false;
+                        state.extendedCollisionNextSection = false;
                     }
                     continue;
                 }
 
-                Palette javaPalette = javaSection.getBlockData().getPalette();
-                BitStorage javaData = javaSection.getBlockData().getStorage();
-
-                if (javaPalette instanceof GlobalPalette) {
-                    // As this is the global palette, simply iterate through the whole chunk section once
-                    GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAir().getRuntimeId(), subChunkIndex);
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int javaId = javaData.get(yzx);
-                        BlockState state = BlockState.of(javaId);
-                        int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                        int xzy = indexYZXtoXZY(yzx);
-                        section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
-
-                        if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                            section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWater().getRuntimeId());
-                        }
+                sections[bedrockSectionY] = translateSection(context, javaSection, sectionY, bedrockBlockEntities, state);
+            }
+        }
 
-                        // Extended collision blocks
-                        if (useExtendedCollisions) {
-                            if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                                if (javaId == Block.JAVA_AIR_ID) {
-                                    section.getBlockStorageArray()[0].setFullBlock(xzy, EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY));
-                                }
-                                EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                                continue;
-                            }
-                            BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes().get(javaId);
-                            if (aboveBedrockExtendedCollisionDefinition != null) {
-                                EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                                if ((xzy & 0xF) == 15) {
-                                    thisExtendedCollisionNextSection = true;
-                                }
-                            }
-                        }
+        // Biomes are only written for sections within the Bedrock dimension, see encodeColumn
+        int dimensionOffset = bedrockDimension.minY() >> 4;
+        int biomeCount = bedrockDimension.height() >> 4;
+        for (int i = 0; i < biomeCount; i++) {
+            int biomeYOffset = dimensionOffset + i;
+            if (biomeYOffset < context.yOffset() || biomeYOffset >= (chunkSize + context.yOffset())) {
+                continue;
+            }
+            int javaSectionY = i + (dimensionOffset - context.yOffset());
+            bedrockBiomes[javaSectionY] = BiomeTranslator.toNewBedrockBiome(context.biomes(), javaSections[javaSectionY].getBiomeData());
+        }
 
-                        // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                        if (state.block() instanceof BedrockChunkWantsBlockEntityTag blockEntity) {
-                            bedrockBlockEntities.add(blockEntity.createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
-                    }
-                    sections[bedrockSectionY] = section;
-                    extendedCollisionNextSection = thisExtendedCollisionNextSection;
-                    continue;
+        return new TranslatedColumn(javaChunks, sections, bedrockBiomes, bedrockBlockEntities);
+    }
+
+    /**
+     * Converts a non-empty Java chunk section.
+     *
+     * @param columnState the extended collision state carried between sections, or null if extended collisions are not in use
+     */
+    private static GeyserChunkSection translateSection(ColumnContext context, ChunkSection javaSection, int sectionY,
+                                                       List<NbtMap> bedrockBlockEntities, @Nullable ColumnState columnState) {
+        GeyserSession session = context.session();
+        ClientboundLevelChunkWithLightPacket packet = context.packet();
+        boolean useExtendedCollisions = context.useExtendedCollisions();
+        int yOffset = context.yOffset();
+        int subChunkIndex = sectionY + yOffset;
+
+        boolean extendedCollision = columnState != null && columnState.extendedCollisionNextSection;
+        boolean thisExtendedCollisionNextSection = false;
+
+        Palette javaPalette = javaSection.getBlockData().getPalette();
+        BitStorage javaData = javaSection.getBlockData().getStorage();
+
+        if (javaPalette instanceof GlobalPalette) {
+            // As this is the global palette, simply iterate through the whole chunk section once
+            GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAir().getRuntimeId(), subChunkIndex);
+            int[] javaIds = BitArrayTranscoder.unpack(javaData);
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int javaId = javaIds[yzx];
+                BlockState state = BlockState.of(javaId);
+                int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+                int xzy = indexYZXtoXZY(yzx);
+                section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
+
+                if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                    section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWater().getRuntimeId());
                 }
 
-                if (javaPalette instanceof SingletonPalette) {
-                    // There's only one block here. Very easy!
-                    int javaId = javaPalette.idToState(0);
-                    int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                    BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
-
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
-                    } else {
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
+                // Extended collision blocks
+                if (useExtendedCollisions) {
+                    if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                        if (javaId == Block.JAVA_AIR_ID) {
+                            section.getBlockStorageArray()[0].setFullBlock(xzy, EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY));
+                        }
+                        EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                        continue;
                     }
-                    if (useExtendedCollisions) {
-                        EXTENDED_COLLISIONS_STORAGE.get().clear();
-                        extendedCollisionNextSection = false;
+                    BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes().get(javaId);
+                    if (aboveBedrockExtendedCollisionDefinition != null) {
+                        EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                        if ((xzy & 0xF) == 15) {
+                            thisExtendedCollisionNextSection = true;
+                        }
                     }
-                    // If a chunk contains all of the same piston or flower pot then god help us
-                    continue;
                 }
 
-                IntList bedrockPalette = new IntArrayList(javaPalette.size());
-                int airPaletteId = -1;
-                waterloggedPaletteIds.clear();
-                bedrockOnlyBlockEntityIds.clear();
+                // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+                if (state.block() instanceof BedrockChunkWantsBlockEntityTag blockEntity) {
+                    bedrockBlockEntities.add(blockEntity.createTag(session,
+                            Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
+                            state
+                    ));
+                }
+            }
+            if (columnState != null) {
+                columnState.extendedCollisionNextSection = thisExtendedCollisionNextSection;
+            }
+            return section;
+        }
 
-                // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
-                int extendedCollisionsInPalette = 0;
-                for (int i = 0; i < javaPalette.size(); i++) {
-                    int javaId = javaPalette.idToState(i);
-                    bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
+        if (javaPalette instanceof SingletonPalette) {
+            // There's only one block here. Very easy!
+            int javaId = javaPalette.idToState(0);
+            int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+            BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
+
+            GeyserChunkSection section;
+            if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
+                section = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
+            } else {
+                section = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
+            }
+            if (useExtendedCollisions) {
+                EXTENDED_COLLISIONS_STORAGE.get().clear();
+                columnState.extendedCollisionNextSection = false;
+            }
+            // If a chunk contains all of the same piston or flower pot then god help us
+            return section;
+        }
 
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        waterloggedPaletteIds.set(i);
-                    }
+        int[] javaPaletteIds = BitArrayTranscoder.unpack(javaData);
+        IntList bedrockPalette = new IntArrayList(javaPalette.size());
+        int airPaletteId = -1;
+        BitSet waterloggedPaletteIds = new BitSet();
+        BitSet bedrockOnlyBlockEntityIds = new BitSet();
 
-                    if (javaId == Block.JAVA_AIR_ID) {
-                        airPaletteId = i;
-                    }
+        // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
+        int extendedCollisionsInPalette = 0;
+        for (int i = 0; i < javaPalette.size(); i++) {
+            int javaId = javaPalette.idToState(i);
+            bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
 
-                    if (useExtendedCollisions) {
-                        if (session.getBlockMappings().getExtendedCollisionBoxes().get(javaId) != null) {
-                            extendedCollision = true;
-                            extendedCollisionsInPalette++;
-                        }
-                    }
+            if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                waterloggedPaletteIds.set(i);
+            }
 
-                    // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                    // TODO this needs a performance check when my head is clearer
-                    BlockState state = BlockState.of(javaId);
-                    if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
-                        bedrockOnlyBlockEntityIds.set(i);
-                    }
+            if (javaId == Block.JAVA_AIR_ID) {
+                airPaletteId = i;
+            }
+
+            if (useExtendedCollisions) {
+                if (session.getBlockMappings().getExtendedCollisionBoxes().get(javaId) != null) {
+                    extendedCollision = true;
+                    extendedCollisionsInPalette++;
                 }
+            }
 
-                // Add Bedrock-exclusive block entities
-                // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
-                // for no reason, as most sections will not contain any pistons or flower pots
-                if (!bedrockOnlyBlockEntityIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        if (bedrockOnlyBlockEntityIds.get(paletteId)) {
-                            BlockState state = BlockState.of(javaPalette.idToState(paletteId));
-                            bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
-                    }
+            // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+            // TODO this needs a performance check when my head is clearer
+            BlockState state = BlockState.of(javaId);
+            if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
+                bedrockOnlyBlockEntityIds.set(i);
+            }
+        }
+
+        // Add Bedrock-exclusive block entities
+        // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
+        // for no reason, as most sections will not contain any pistons or flower pots
+        if (!bedrockOnlyBlockEntityIds.isEmpty()) {
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int paletteId = javaPaletteIds[yzx];
+                if (bedrockOnlyBlockEntityIds.get(paletteId)) {
+                    BlockState state = BlockState.of(javaPalette.idToState(paletteId));
+                    bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
+                            Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
+                            state
+                    ));
                 }
+            }
+        }
 
-                // We need to ensure we use enough bits to represent extended collision blocks in the chunk section
-                int sectionCollisionBlocks = 0;
-                if (useExtendedCollisions) {
-                    int bottomLayerCollisions = extendedCollision ? EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() : 0;
-                    sectionCollisionBlocks = bottomLayerCollisions + extendedCollisionsInPalette;
+        // We need to ensure we use enough bits to represent extended collision blocks in the chunk section
+        int sectionCollisionBlocks = 0;
+        if (useExtendedCollisions) {
+            int bottomLayerCollisions = extendedCollision ? EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() : 0;
+            sectionCollisionBlocks = bottomLayerCollisions + extendedCollisionsInPalette;
+        }
+        int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size() + sectionCollisionBlocks);
+        BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
+        BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
+        BlockStorage[] layers;
+
+        // Convert data array from YZX to XZY coordinate order
+        if (waterloggedPaletteIds.isEmpty() && !extendedCollision) {
+            // No blocks are waterlogged, simply convert coordinate order
+            BitArrayTranscoder.transpose(javaPaletteIds, bedrockData);
+
+            layers = new BlockStorage[]{ layer0 };
+        } else if (!waterloggedPaletteIds.isEmpty() && !extendedCollision) {
+            // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
+            // layer 1 with palette ID 1 indicating water
+            BitArrayTranscoder.transpose(javaPaletteIds, bedrockData);
+            int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                if (waterloggedPaletteIds.get(javaPaletteIds[yzx])) {
+                    int xzy = indexYZXtoXZY(yzx);
+                    layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
                 }
-                int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size() + sectionCollisionBlocks);
-                BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
-                BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
-                BlockStorage[] layers;
-
-                // Convert data array from YZX to XZY coordinate order
-                if (waterloggedPaletteIds.isEmpty() && !extendedCollision) {
-                    // No blocks are waterlogged, simply convert coordinate order
-                    // This could probably be optimized further...
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-                    }
+            }
 
-                    layers = new BlockStorage[]{ layer0 };
-                } else if (!waterloggedPaletteIds.isEmpty() && !extendedCollision) {
-                    // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
-                    // layer 1 with palette ID 1 indicating water
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
-                        }
+            // V1 palette
+            IntList layer1Palette = IntList.of(
+                    session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                    session.getBlockMappings().getBedrockWater().getRuntimeId());
+
+            layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+        } else if (waterloggedPaletteIds.isEmpty()) {
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int paletteId = javaPaletteIds[yzx];
+                int xzy = indexYZXtoXZY(yzx);
+                bedrockData.set(xzy, paletteId);
+
+                if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                    if (paletteId == airPaletteId) {
+                        bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
                     }
-                    
-                    // V1 palette
-                    IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
-
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
-                } else if (waterloggedPaletteIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                            if (paletteId == airPaletteId) {
-                                bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
-                            }
-                            EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                            continue;
-                        }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings()
-                                .getExtendedCollisionBoxes().get(javaPalette.idToState(paletteId));
-                        if (aboveBedrockExtendedCollisionDefinition != null) {
-                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                            if ((xzy & 0xF) == 15) {
-                                thisExtendedCollisionNextSection = true;
-                            }
-                        }
+                    EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                    continue;
+                }
+                BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings()
+                        .getExtendedCollisionBoxes().get(javaPalette.idToState(paletteId));
+                if (aboveBedrockExtendedCollisionDefinition != null) {
+                    EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                    if ((xzy & 0xF) == 15) {
+                        thisExtendedCollisionNextSection = true;
                     }
+                }
+            }
 
-                    layers = new BlockStorage[]{ layer0 };
-                } else {
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
-                        }
+            layers = new BlockStorage[]{ layer0 };
+        } else {
+            int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int paletteId = javaPaletteIds[yzx];
+                int xzy = indexYZXtoXZY(yzx);
+                bedrockData.set(xzy, paletteId);
 
-                        if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                            if (paletteId == airPaletteId) {
-                                bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
-                            }
-                            EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                            continue;
-                        }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes()
-                                .get(javaPalette.idToState(paletteId));
-                        if (aboveBedrockExtendedCollisionDefinition != null) {
-                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                            if ((xzy & 0xF) == 15) {
-                                thisExtendedCollisionNextSection = true;
-                            }
-                        }
+                if (waterloggedPaletteIds.get(paletteId)) {
+                    layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
+                }
+
+                if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                    if (paletteId == airPaletteId) {
+                        bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
+                    }
+                    EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                    continue;
+                }
+                BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes()
+                        .get(javaPalette.idToState(paletteId));
+                if (aboveBedrockExtendedCollisionDefinition != null) {
+                    EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                    if ((xzy & 0xF) == 15) {
+                        thisExtendedCollisionNextSection = true;
                     }
+                }
+            }
 
-                    // V1 palette
-                    IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
+            // V1 palette
+            IntList layer1Palette = IntList.of(
+                    session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                    session.getBlockMappings().getBedrockWater().getRuntimeId());
 
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
-                }
+            layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+        }
 
-                sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
-                extendedCollisionNextSection = thisExtendedCollisionNextSection;
-            }
+        if (columnState != null) {
+            columnState.extendedCollisionNextSection = thisExtendedCollisionNextSection;
+        }
+        return new GeyserChunkSection(layers, subChunkIndex);
+    }
 
-            if (!session.getErosionHandler().isActive()) {
-                session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
-            }
+    /**
+     * Applies the translated column to the session, translates block entities and sends the chunk.
+     * Must run on the session event loop.
+     */
+    private static void encodeColumn(ColumnContext context, TranslatedColumn column, ChunkEncodingCache.@Nullable Key cacheKey) {
+        GeyserSession session = context.session();
+        ClientboundLevelChunkWithLightPacket packet = context.packet();
+        int yOffset = context.yOffset();
+        int chunkSize = context.chunkSize();
+        DataPalette[] javaChunks = column.javaChunks();
+        GeyserChunkSection[] sections = column.sections();
+        List<NbtMap> bedrockBlockEntities = column.bedrockBlockEntities();
+
+        BedrockDimension bedrockDimension = context.bedrockDimension();
+        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
 
-            final int chunkBlockX = packet.getX() << 4;
-            final int chunkBlockZ = packet.getZ() << 4;
-            for (BlockEntityInfo blockEntity : blockEntities) {
-                BlockEntityType type = blockEntity.getType();
-                NbtMap tag = blockEntity.getNbt();
-                if (type == null) {
-                    // As an example: ViaVersion will send -1 if it cannot find the block entity type
-                    // Vanilla Minecraft gracefully handles this
-                    continue;
-                }
-                int x = blockEntity.getX(); // Relative to chunk
-                int y = blockEntity.getY();
-                int z = blockEntity.getZ(); // Relative to chunk
-
-                // Get the Java block state ID from block entity position
-                DataPalette section = javaChunks[(y >> 4) - yOffset];
-                BlockState blockState = BlockState.of(section.get(x, y & 0xF, z));
-
-                // Note that, since 1.20.5, tags can be null, but Bedrock still needs a default tag to render the item
-                // Also, some properties - like banner base colors - are part of the tag and is processed here.
-                BlockEntityTranslator blockEntityTranslator = BlockEntityUtils.getBlockEntityTranslator(type);
-
-                // The Java server can send block entity data for blocks that aren't actually those blocks.
-                // A Java client ignores these
-                if (type == blockState.block().blockEntityType()) {
-                    bedrockBlockEntities.add(blockEntityTranslator.getBlockEntityTag(session, type, x + chunkBlockX, y, z + chunkBlockZ, tag, blockState));
-
-                    // Check for custom skulls
-                    if (session.getPreferencesCache().showCustomSkulls() && type == BlockEntityType.SKULL && tag != null && tag.containsKey("profile")) {
-                        BlockDefinition blockDefinition = SkullBlockEntityTranslator.translateSkull(session, tag, Vector3i.from(x + chunkBlockX, y, z + chunkBlockZ), blockState);
-                        if (blockDefinition != null) {
-                            int bedrockSectionY = (y >> 4) - (bedrockDimension.minY() >> 4);
-                            int subChunkIndex = (y >> 4) + (bedrockDimension.minY() >> 4);
-                            if (0 <= bedrockSectionY && bedrockSectionY < maxBedrockSectionY) {
-                                // Custom skull is in a section accepted by Bedrock
-                                GeyserChunkSection bedrockSection = sections[bedrockSectionY];
-                                IntList palette = bedrockSection.getBlockStorageArray()[0].getPalette();
-                                if (palette instanceof IntImmutableList || palette instanceof IntLists.Singleton) {
-                                    // TODO there has to be a better way to expand the palette .-.
-                                    bedrockSection = bedrockSection.copy(subChunkIndex);
-                                    sections[bedrockSectionY] = bedrockSection;
-                                }
-                                bedrockSection.setFullBlock(x, y & 0xF, z, 0, blockDefinition.getRuntimeId());
+        if (!session.getErosionHandler().isActive()) {
+            session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
+        }
+
+        final int chunkBlockX = packet.getX() << 4;
+        final int chunkBlockZ = packet.getZ() << 4;
+        for (BlockEntityInfo blockEntity : packet.getBlockEntities()) {
+            BlockEntityType type = blockEntity.getType();
+            NbtMap tag = blockEntity.getNbt();
+            if (type == null) {
+                // As an example: ViaVersion will send -1 if it cannot find the block entity type
+                // Vanilla Minecraft gracefully handles this
+                continue;
+            }
+            int x = blockEntity.getX(); // Relative to chunk
+            int y = blockEntity.getY();
+            int z = blockEntity.getZ(); // Relative to chunk
+
+            // Get the Java block state ID from block entity position
+            DataPalette section = javaChunks[(y >> 4) - yOffset];
+            BlockState blockState = BlockState.of(section.get(x, y & 0xF, z));
+
+            // Note that, since 1.20.5, tags can be null, but Bedrock still needs a default tag to render the item
+            // Also, some properties - like banner base colors - are part of the tag and is processed here.
+            BlockEntityTranslator blockEntityTranslator = BlockEntityUtils.getBlockEntityTranslator(type);
+
+            // The Java server can send block entity data for blocks that aren't actually those blocks.
+            // A Java client ignores these
+            if (type == blockState.block().blockEntityType()) {
+                bedrockBlockEntities.add(blockEntityTranslator.getBlockEntityTag(session, type, x + chunkBlockX, y, z + chunkBlockZ, tag, blockState));
+
+                // Check for custom skulls
+                if (session.getPreferencesCache().showCustomSkulls() && type == BlockEntityType.SKULL && tag != null && tag.containsKey("profile")) {
+                    BlockDefinition blockDefinition = SkullBlockEntityTranslator.translateSkull(session, tag, Vector3i.from(x + chunkBlockX, y, z + chunkBlockZ), blockState);
+                    if (blockDefinition != null) {
+                        int bedrockSectionY = (y >> 4) - (bedrockDimension.minY() >> 4);
+                        int subChunkIndex = (y >> 4) + (bedrockDimension.minY() >> 4);
+                        if (0 <= bedrockSectionY && bedrockSectionY < maxBedrockSectionY) {
+                            // Custom skull is in a section accepted by Bedrock
+                            GeyserChunkSection bedrockSection = sections[bedrockSectionY];
+                            IntList palette = bedrockSection.getBlockStorageArray()[0].getPalette();
+                            if (palette instanceof IntImmutableList || palette instanceof IntLists.Singleton) {
+                                // TODO there has to be a better way to expand the palette .-.
+                                bedrockSection = bedrockSection.copy(subChunkIndex);
+                                sections[bedrockSectionY] = bedrockSection;
                             }
+                            bedrockSection.setFullBlock(x, y & 0xF, z, 0, blockDefinition.getRuntimeId());
                         }
                     }
                 }
             }
+        }
 
+        int sectionCount;
+        byte[] payload;
+        ByteBuf byteBuf = null;
+        try {
             // Find highest section
             sectionCount = sections.length - 1;
             while (sectionCount >= 0 && sections[sectionCount] == null) {
@@ -493,7 +612,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     continue;
                 }
 
-                BiomeTranslator.toNewBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)]).writeToNetwork(byteBuf);
+                column.bedrockBiomes()[i + (dimensionOffset - yOffset)].writeToNetwork(byteBuf);
             }
 
             byteBuf.writeByte(0); // Border blocks - Edu edition only
@@ -514,12 +633,23 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             }
         }
 
+        ByteBuf data;
+        ChunkEncodingCache encodingCache = session.getGeyser().getChunkEncodingCache();
+        if (cacheKey != null && encodingCache != null) {
+            data = encodingCache.store(cacheKey, payload, sectionCount);
+        } else {
+            data = Unpooled.wrappedBuffer(payload);
+        }
+        sendLevelChunk(session, packet, sectionCount, data);
+    }
+
+    private static void sendLevelChunk(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, int sectionCount, ByteBuf data) {
         LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
         levelChunkPacket.setSubChunksLength(sectionCount);
         levelChunkPacket.setCachingEnabled(false);
         levelChunkPacket.setChunkX(packet.getX());
         levelChunkPacket.setChunkZ(packet.getZ());
-        levelChunkPacket.setData(Unpooled.wrappedBuffer(payload));
+        levelChunkPacket.setData(data);
         levelChunkPacket.setDimension(session.getBedrockDimension().bedrockId());
         session.sendUpstreamPacket(levelChunkPacket);
 
@@ -533,6 +663,28 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         }
     }
 
+    /**
+     * Everything about the session needed to translate a chunk column, captured when the packet was received.
+     */
+    private record ColumnContext(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, boolean useExtendedCollisions,
+                                 int yOffset, int chunkSize, BedrockDimension bedrockDimension, JavaRegistry<Integer> biomes) {
+
+        ChunkSection readSection(ByteBuf in) {
+            return MinecraftTypes.readChunkSection(in, BlockRegistries.BLOCK_STATES.get().size(), biomes.size());
+        }
+    }
+
+    private record TranslatedColumn(DataPalette[] javaChunks, GeyserChunkSection[] sections, BlockStorage[] bedrockBiomes,
+                                    List<NbtMap> bedrockBlockEntities) {
+    }
+
+    /**
+     * Extended collision state that carries over from one section to the next.
+     */
+    private static final class ColumnState {
+        private boolean extendedCollisionNextSection;
+    }
+
     static final class ExtendedCollisionsStorage {
         private int[] data;
         private int sectionY;
@@ -25,67 +25,17 @@
 
 package org.geysermc.geyser.translator.protocol.java.level;
 
-import org.geysermc.mcprotocollib.protocol.data.game.level.map.MapData;
-import org.geysermc.mcprotocollib.protocol.data.game.level.map.MapIcon;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundMapItemDataPacket;
-import org.cloudburstmc.math.vector.Vector3i;
-import org.cloudburstmc.protocol.bedrock.data.MapDecoration;
-import org.cloudburstmc.protocol.bedrock.data.MapTrackedObject;
-import org.geysermc.geyser.level.BedrockMapIcon;
-import org.geysermc.geyser.level.MapColor;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
-import org.geysermc.geyser.util.DimensionUtils;
 
 @Translator(packet = ClientboundMapItemDataPacket.class)
 public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapItemDataPacket> {
 
     @Override
     public void translate(GeyserSession session, ClientboundMapItemDataPacket packet) {
-        org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket mapItemDataPacket = new org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket();
-
-        mapItemDataPacket.setUniqueMapId(packet.getMapId());
-        mapItemDataPacket.setDimensionId(DimensionUtils.javaToBedrock(session));
-        mapItemDataPacket.setLocked(packet.isLocked());
-        mapItemDataPacket.setOrigin(Vector3i.ZERO); // Required since 1.19.20
-        mapItemDataPacket.setScale(packet.getScale());
-        // Required as of 1.19.50
-        mapItemDataPacket.getTrackedEntityIds().add(packet.getMapId());
-
-        MapData data = packet.getData();
-        if (data != null) {
-            mapItemDataPacket.setXOffset(data.getX());
-            mapItemDataPacket.setYOffset(data.getY());
-            mapItemDataPacket.setWidth(data.getColumns());
-            mapItemDataPacket.setHeight(data.getRows());
-
-            // Every int entry is an ARGB color
-            int[] colors = new int[data.getData().length];
-
-            int idx = 0;
-            for (byte colorId : data.getData()) {
-                colors[idx++] = MapColor.fromId(colorId & 0xFF).getABGR();
-            }
-
-            mapItemDataPacket.setColors(colors);
-        }
-
-        // Bedrock needs an entity id to display an icon
-        int id = 0;
-        for (MapIcon icon : packet.getIcons()) {
-            BedrockMapIcon bedrockMapIcon = BedrockMapIcon.fromType(icon.getIconType());
-
-            mapItemDataPacket.getTrackedObjects().add(new MapTrackedObject(id));
-            mapItemDataPacket.getDecorations().add(new MapDecoration(bedrockMapIcon.getIconID(), icon.getIconRotation(), icon.getCenterX(), icon.getCenterZ(), "", bedrockMapIcon.toARGB()));
-            id++;
-        }
-
-        // Client will ignore if sent too early
-        if (session.isSentSpawnPacket()) {
-            session.sendUpstreamPacket(mapItemDataPacket);
-        } else {
-            session.getUpstream().queuePostStartGamePacket(mapItemDataPacket);
-        }
+        // Sent on the next tick, together with any other updates to this map
+        session.getMapCache().update(packet);
     }
 }
@@ -36,6 +36,10 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
 
     @Override
     public void translate(GeyserSession session, ClientboundSectionBlocksUpdatePacket packet) {
+        if (session.getChunkTranslationQueue().deferIfPending(() -> translate(session, packet))) {
+            return;
+        }
+
         for (BlockChangeEntry entry : packet.getEntries()) {
             session.getWorldCache().updateServerCorrectBlockState(entry.getPosition(), entry.getBlock());
         }
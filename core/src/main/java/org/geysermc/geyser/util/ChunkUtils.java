@@ -106,6 +106,7 @@ public class ChunkUtils {
             session.sendUpstreamPacket(chunkPublisherUpdatePacket);
 
             session.setLastChunkPosition(newChunkPos);
+            session.getChunkCache().moveCenter(newChunkPos.getX(), newChunkPos.getY(), session.getServerRenderDistance());
         }
     }
 
@@ -56,9 +56,11 @@ public class DimensionUtils {
         Entity player = session.getPlayerEntity();
 
         session.getChunkCache().clear();
+        session.getChunkTranslationQueue().clear();
         session.getEntityCache().removeAllEntities();
         session.getItemFrameCache().clear();
         session.getLodestoneCache().clear();
+        session.getMapCache().clear();
         session.getPistonCache().clear();
         session.getSkullCache().clear();
         session.getBlockBreakHandler().reset();
@@ -29,7 +29,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.raphimc.minecraftauth.step.msa.StepMsaDeviceCode;
-import org.cloudburstmc.protocol.bedrock.data.auth.AuthPayload;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.auth.CertificateChainPayload;
 import org.cloudburstmc.protocol.bedrock.packet.LoginPacket;
 import org.cloudburstmc.protocol.bedrock.packet.ServerToClientHandshakePacket;
@@ -60,18 +60,64 @@ public class LoginEncryptionUtils {
     private static boolean HAS_SENT_ENCRYPTION_MESSAGE = false;
 
     public static void encryptPlayerConnection(GeyserSession session, LoginPacket loginPacket) {
-        encryptConnectionWithCert(session, loginPacket.getAuthPayload(), loginPacket.getClientJwt());
+        VerifiedLogin login;
+        try {
+            login = verifyLogin(loginPacket, session.getGeyser().getConfig().isEnableProxyConnections());
+        } catch (Exception ex) {
+            session.disconnect("disconnectionScreen.internalError.cantConnect");
+            throw new RuntimeException("Unable to complete login", ex);
+        }
+        applyVerifiedLogin(session, loginPacket, login);
     }
 
-    private static void encryptConnectionWithCert(GeyserSession session, AuthPayload authPayload, String jwt) {
+    /**
+     * Does the expensive part of a login: validating the certificate chain, verifying and parsing the client data,
+     * and preparing the encryption handshake. This doesn't touch the session, so it can run on any thread.
+     *
+     * @param allowUnsigned whether to continue verifying the login if the chain isn't signed by Xbox
+     */
+    public static VerifiedLogin verifyLogin(LoginPacket loginPacket, boolean allowUnsigned) throws Exception {
+        ChainValidationResult result = EncryptionUtils.validatePayload(loginPacket.getAuthPayload());
+        if (!result.signed() && !allowUnsigned) {
+            return new VerifiedLogin(result, null, null);
+        }
+
+        PublicKey identityPublicKey = result.identityClaims().parsedIdentityPublicKey();
+
+        byte[] clientDataPayload = EncryptionUtils.verifyClientData(loginPacket.getClientJwt(), identityPublicKey);
+        if (clientDataPayload == null) {
+            throw new IllegalStateException("Client data isn't signed by the given chain data");
+        }
+
+        JsonNode clientDataJson = JSON_MAPPER.readTree(clientDataPayload);
+        BedrockClientData data = JSON_MAPPER.convertValue(clientDataJson, BedrockClientData.class);
+        data.setOriginalString(loginPacket.getClientJwt());
+
+        Handshake handshake;
         try {
-            GeyserImpl geyser = session.getGeyser();
+            handshake = createEncryptionHandshake(identityPublicKey);
+        } catch (Throwable e) {
+            // An error can be thrown on older Java 8 versions about an invalid key
+            if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
+                e.printStackTrace();
+            }
+            handshake = null;
+        }
+        return new VerifiedLogin(result, data, handshake);
+    }
 
-            ChainValidationResult result = EncryptionUtils.validatePayload(authPayload);
+    /**
+     * Applies a login verified by {@link #verifyLogin(LoginPacket, boolean)} to the session and starts encryption.
+     * Must be called on the session's network thread.
+     */
+    public static void applyVerifiedLogin(GeyserSession session, LoginPacket loginPacket, VerifiedLogin login) {
+        try {
+            GeyserImpl geyser = session.getGeyser();
+            ChainValidationResult result = login.result();
 
             geyser.getLogger().debug(String.format("Is player data signed? %s", result.signed()));
 
-            if (!result.signed() && !session.getGeyser().getConfig().isEnableProxyConnections()) {
+            if (login.clientData() == null) {
                 session.disconnect(GeyserLocale.getLocaleStringLog("geyser.network.remote.invalid_xbox_account"));
                 return;
             }
@@ -83,51 +129,38 @@ public class LoginEncryptionUtils {
             IdentityData extraData = result.identityClaims().extraData;
             // TODO!!! identity won't persist
             session.setAuthData(new AuthData(extraData.displayName, extraData.identity, extraData.xuid, issuedAt));
-            if (authPayload instanceof CertificateChainPayload certificateChainPayload) {
+            if (loginPacket.getAuthPayload() instanceof CertificateChainPayload certificateChainPayload) {
                 session.setCertChainData(certificateChainPayload.getChain());
             } else {
                 GeyserImpl.getInstance().getLogger().warning("Received new auth payload!");
                 session.setCertChainData(List.of());
             }
 
-            PublicKey identityPublicKey = result.identityClaims().parsedIdentityPublicKey();
-
-            byte[] clientDataPayload = EncryptionUtils.verifyClientData(jwt, identityPublicKey);
-            if (clientDataPayload == null) {
-                throw new IllegalStateException("Client data isn't signed by the given chain data");
-            }
-
-            JsonNode clientDataJson = JSON_MAPPER.readTree(clientDataPayload);
-            BedrockClientData data = JSON_MAPPER.convertValue(clientDataJson, BedrockClientData.class);
-            data.setOriginalString(jwt);
-            session.setClientData(data);
-
-            try {
-                startEncryptionHandshake(session, identityPublicKey);
-            } catch (Throwable e) {
-                // An error can be thrown on older Java 8 versions about an invalid key
-                if (geyser.getConfig().isDebugMode()) {
-                    e.printStackTrace();
-                }
+            session.setClientData(login.clientData());
 
+            Handshake handshake = login.handshake();
+            if (handshake == null) {
                 sendEncryptionFailedMessage(geyser);
+                return;
             }
+            ServerToClientHandshakePacket packet = new ServerToClientHandshakePacket();
+            packet.setJwt(handshake.jwt());
+            session.sendUpstreamPacketImmediately(packet);
+
+            session.getUpstream().getSession().enableEncryption(handshake.encryptionKey());
         } catch (Exception ex) {
             session.disconnect("disconnectionScreen.internalError.cantConnect");
             throw new RuntimeException("Unable to complete login", ex);
         }
     }
 
-    private static void startEncryptionHandshake(GeyserSession session, PublicKey key) throws Exception {
+    private static Handshake createEncryptionHandshake(PublicKey key) throws Exception {
         KeyPair serverKeyPair = EncryptionUtils.createKeyPair();
         byte[] token = EncryptionUtils.generateRandomToken();
 
-        ServerToClientHandshakePacket packet = new ServerToClientHandshakePacket();
-        packet.setJwt(EncryptionUtils.createHandshakeJwt(serverKeyPair, token));
-        session.sendUpstreamPacketImmediately(packet);
-
+        String jwt = EncryptionUtils.createHandshakeJwt(serverKeyPair, token);
         SecretKey encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), key, token);
-        session.getUpstream().getSession().enableEncryption(encryptionKey);
+        return new Handshake(jwt, encryptionKey);
     }
 
     private static void sendEncryptionFailedMessage(GeyserImpl geyser) {
@@ -272,4 +305,14 @@ public class LoginEncryptionUtils {
         }
         return newValue.toString();
     }
+
+    /**
+     * @param clientData null if the chain wasn't signed and unsigned logins aren't allowed
+     * @param handshake null if the encryption handshake couldn't be prepared
+     */
+    public record VerifiedLogin(ChainValidationResult result, @Nullable BedrockClientData clientData, @Nullable Handshake handshake) {
+    }
+
+    public record Handshake(String jwt, SecretKey encryptionKey) {
+    }
 }
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.entity.EntityMovementScheduler;
+import org.geysermc.geyser.level.chunk.ChunkEncodingCache;
+import org.geysermc.geyser.network.AdaptiveCompressionStrategy;
+import org.geysermc.geyser.network.netty.BedrockPongCache;
+import org.geysermc.geyser.pack.ResourcePackUploadScheduler;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.auth.LoginVerifier;
+import org.geysermc.geyser.session.cache.EntityCache;
+import org.geysermc.geyser.session.cache.MapCache;
+import org.geysermc.geyser.session.cache.MapCanvasStore;
+import org.geysermc.geyser.session.cache.RegistryCache;
+import org.geysermc.geyser.session.cache.TagCache;
+import org.geysermc.geyser.session.cache.registry.RegistrySnapshotStore;
+import org.geysermc.geyser.session.cache.tags.TagStore;
+import org.geysermc.geyser.skin.SkinFetcher;
+import org.geysermc.geyser.session.tick.TickMonitor;
+import org.geysermc.geyser.skin.SkinProvider;
+import org.geysermc.geyser.translator.protocol.TranslatorMetrics;
+import org.geysermc.geyser.translator.protocol.java.CommandTreeCache;
+import org.geysermc.geyser.translator.protocol.java.JavaCommandsTranslator;
+import org.geysermc.geyser.translator.protocol.java.JavaRecipeBookAddTranslator;
+import org.geysermc.geyser.translator.protocol.java.RecipeTranslationCache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point-in-time copy of Geyser's performance counters, as shown by {@code /geyser perf}. Extensions can capture one
+ * with {@link #capture(GeyserImpl)} to export these values elsewhere.
+ * <p>
+ * Components that are disabled in the config are {@code null}. All durations are in nanoseconds, unless noted otherwise.
+ * Capturing doesn't wait for any session's event loop, so it is safe to do from any thread.
+ */
+public record PerformanceSnapshot(
+    long capturedAt,
+    int sessions,
+    @Nullable List<TickMonitor.LoopSnapshot> playerThreads,
+    @Nullable Translation translation,
+    @Nullable ChunkEncoding chunkEncoding,
+    @Nullable Pings pings,
+    @Nullable Logins logins,
+    Skins skins,
+    @Nullable ResourcePacks resourcePacks,
+    @Nullable Batching batching,
+    @Nullable Compression compression,
+    SharedData sharedData
+) {
+
+    public static PerformanceSnapshot capture(GeyserImpl geyser) {
+        List<GeyserSession> sessions = geyser.getSessionManager().getAllSessions();
+
+        TickMonitor tickMonitor = geyser.getTickMonitor();
+        List<TickMonitor.LoopSnapshot> playerThreads = tickMonitor == null ? null : tickMonitor.snapshot();
+
+        Translation translation = null;
+        TranslatorMetrics translatorMetrics = geyser.getTranslatorMetrics();
+        if (translatorMetrics != null) {
+            List<SessionTranslation> sessionTranslations = new ArrayList<>(sessions.size());
+            for (GeyserSession session : sessions) {
+                TranslatorMetrics.SessionTimings timings = session.getTranslationTimings();
+                sessionTranslations.add(new SessionTranslation(session.bedrockUsername(), timings.packets(), timings.nanos()));
+            }
+            sessionTranslations.sort(Comparator.comparingLong(SessionTranslation::nanos).reversed());
+            translation = new Translation(System.nanoTime() - translatorMetrics.startedAt(), translatorMetrics.snapshot(),
+                Latency.of(translatorMetrics.queueDelay()), sessionTranslations);
+        }
+
+        ChunkEncoding chunkEncoding = null;
+        ChunkEncodingCache chunkEncodingCache = geyser.getChunkEncodingCache();
+        if (chunkEncodingCache != null) {
+            chunkEncoding = new ChunkEncoding(chunkEncodingCache.size(), chunkEncodingCache.hits(), chunkEncodingCache.misses(),
+                chunkEncodingCache.evictions());
+        }
+
+        Pings pings = null;
+        BedrockPongCache pongCache = geyser.getGeyserServer() == null ? null : geyser.getGeyserServer().getPongCache();
+        if (pongCache != null) {
+            pings = new Pings(pongCache.served(), pongCache.stale(), pongCache.refreshed());
+        }
+
+        Logins logins = null;
+        LoginVerifier loginVerifier = geyser.getLoginVerifier();
+        if (loginVerifier != null) {
+            logins = new Logins(loginVerifier.queued(), loginVerifier.verified(), loginVerifier.failed(),
+                loginVerifier.verifiedOnCaller(), Latency.of(loginVerifier.latency()));
+        }
+
+        SkinFetcher fetcher = SkinProvider.getFetcher();
+        Skins skins = new Skins(fetcher.inFlight(), fetcher.completed(), fetcher.coalesced(), fetcher.failed(),
+            fetcher.cancelled(), Latency.of(fetcher.latency()));
+
+        ResourcePacks resourcePacks = null;
+        ResourcePackUploadScheduler uploadScheduler = geyser.getResourcePackUploadScheduler();
+        if (uploadScheduler != null) {
+            resourcePacks = new ResourcePacks(uploadScheduler.downloadingSessions(), uploadScheduler.queuedBytes(),
+                uploadScheduler.sentBytes(), uploadScheduler.completedDownloads(), uploadScheduler.averageDownloadMillis(),
+                uploadScheduler.longestDownloadMillis());
+        }
+
+        Batching batching = null;
+        if (geyser.getConfig().isBatchEntityMetadata() || geyser.getConfig().getEntityMovementLodDistance() > 0) {
+            List<SessionMovement> sessionMovements = new ArrayList<>();
+            long movementPacketsSaved = 0;
+            for (GeyserSession session : sessions) {
+                EntityMovementScheduler scheduler = session.getEntityCache().getMovementScheduler();
+                if (scheduler != null) {
+                    sessionMovements.add(new SessionMovement(session.bedrockUsername(), scheduler.deferred(), scheduler.saved()));
+                    movementPacketsSaved += scheduler.saved();
+                }
+            }
+            sessionMovements.sort(Comparator.comparingLong(SessionMovement::saved).reversed());
+            batching = new Batching(EntityCache.metadataPacketsSaved(), movementPacketsSaved, sessionMovements);
+        }
+
+        Compression compression = null;
+        if (geyser.getConfig().getBedrock().isAdaptiveCompression()) {
+            List<SessionCompression> sessionCompressions = new ArrayList<>();
+            long uncompressedBytes = 0;
+            long compressedBytes = 0;
+            long compressionNanos = 0;
+            long batches = 0;
+            long uncompressedBatches = 0;
+            for (GeyserSession session : sessions) {
+                AdaptiveCompressionStrategy strategy = session.getUpstream().getCompression();
+                if (strategy != null) {
+                    sessionCompressions.add(new SessionCompression(session.bedrockUsername(), strategy.ratio(), strategy.compressionNanos(),
+                        strategy.batches(), strategy.uncompressedBatches()));
+                    uncompressedBytes += strategy.uncompressedBytes();
+                    compressedBytes += strategy.compressedBytes();
+                    compressionNanos += strategy.compressionNanos();
+                    batches += strategy.batches();
+                    uncompressedBatches += strategy.uncompressedBatches();
+                }
+            }
+            sessionCompressions.sort(Comparator.comparingLong(SessionCompression::nanos).reversed());
+            compression = new Compression(uncompressedBytes, compressedBytes, compressionNanos, batches, uncompressedBatches,
+                sessionCompressions);
+        }
+
+        RegistrySnapshotStore registries = RegistryCache.snapshots();
+        TagStore tags = TagCache.store();
+        MapCanvasStore canvases = MapCache.canvases();
+        CommandTreeCache commandTrees = JavaCommandsTranslator.trees();
+        RecipeTranslationCache recipes = JavaRecipeBookAddTranslator.recipes();
+        SharedData sharedData = new SharedData(registries.liveSnapshots(), registries.created(), registries.reused(),
+            registries.reusedEntries(), tags.liveSets(), tags.created(), tags.reused(), tags.reusedIds(),
+            canvases.liveCanvases(), canvases.converted(), canvases.shared(), commandTrees.size(), commandTrees.hits(),
+            commandTrees.misses(), recipes.size(), recipes.hits(), recipes.misses());
+
+        return new PerformanceSnapshot(System.currentTimeMillis(), sessions.size(), playerThreads, translation, chunkEncoding, pings, logins,
+            skins, resourcePacks, batching, compression, sharedData);
+    }
+
+    /**
+     * @param count how many durations were recorded
+     */
+    public record Latency(long count, long p50, long p99) {
+        public static Latency of(LatencyHistogram histogram) {
+            return new Latency(histogram.count(), histogram.percentile(0.5), histogram.percentile(0.99));
+        }
+    }
+
+    /**
+     * @param recordingFor for how long translator metrics have been recorded
+     * @param packets the timings of each packet class, slowest in total first
+     * @param queueDelay how long packets waited for their session's event loop
+     * @param sessions the time spent translating each session's packets, slowest in total first
+     */
+    public record Translation(long recordingFor, List<TranslatorMetrics.PacketSnapshot> packets, Latency queueDelay,
+                              List<SessionTranslation> sessions) {
+        public long recordingForSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(recordingFor);
+        }
+    }
+
+    public record SessionTranslation(String name, long packets, long nanos) {
+    }
+
+    public record ChunkEncoding(long size, long hits, long misses, long evictions) {
+    }
+
+    public record Pings(long served, long stale, long refreshed) {
+    }
+
+    public record Logins(int queued, long verified, long failed, long verifiedOnCaller, Latency latency) {
+    }
+
+    public record Skins(int inFlight, long completed, long coalesced, long failed, long cancelled, Latency latency) {
+    }
+
+    /**
+     * @param averageDownloadMillis in milliseconds
+     * @param longestDownloadMillis in milliseconds
+     */
+    public record ResourcePacks(int downloadingSessions, long queuedBytes, long sentBytes, long completedDownloads,
+                                long averageDownloadMillis, long longestDownloadMillis) {
+    }
+
+    /**
+     * @param metadataPacketsSaved how many entity metadata packets were merged into others sent in the same tick
+     * @param movementPacketsSaved how many move packets of far away entities were merged into later moves, by online sessions
+     * @param sessions the moves held back for each session, most saved first
+     */
+    public record Batching(long metadataPacketsSaved, long movementPacketsSaved, List<SessionMovement> sessions) {
+    }
+
+    public record SessionMovement(String name, long deferred, long saved) {
+    }
+
+    /**
+     * Batches sent to Bedrock clients by online sessions, if adaptive compression is enabled.
+     *
+     * @param nanos the time spent compressing
+     * @param uncompressedBatches how many batches were below the compression threshold
+     * @param sessions the compression of each session, most time spent first
+     */
+    public record Compression(long uncompressedBytes, long compressedBytes, long nanos, long batches, long uncompressedBatches,
+                              List<SessionCompression> sessions) {
+        /**
+         * @return the compressed size of the sent batches, relative to their uncompressed size
+         */
+        public double ratio() {
+            return uncompressedBytes == 0 ? 1 : (double) compressedBytes / uncompressedBytes;
+        }
+    }
+
+    public record SessionCompression(String name, double ratio, long nanos, long batches, long uncompressedBatches) {
+    }
+
+    /**
+     * Registries, tags, map canvases, command trees and recipes shared between sessions that received the same data.
+     */
+    public record SharedData(long liveRegistrySnapshots, long registrySnapshotsCreated, long registrySnapshotsReused,
+                             long registryEntriesReused, long liveTagSets, long tagSetsCreated, long tagSetsReused,
+                             long tagIdsReused, long liveMapCanvases, long mapCanvasesConverted, long mapCanvasesShared,
+                             long cachedCommandTrees, long commandTreeHits, long commandTreeMisses, long cachedRecipes,
+                             long recipeHits, long recipeMisses) {
+        /**
+         * @return the share of command trees that didn't have to be translated, between 0 and 1
+         */
+        public double commandTreeHitRate() {
+            return hitRate(commandTreeHits, commandTreeMisses);
+        }
+
+        /**
+         * @return the share of recipes that didn't have to be translated, between 0 and 1
+         */
+        public double recipeHitRate() {
+            return hitRate(recipeHits, recipeMisses);
+        }
+
+        private static double hitRate(long hits, long misses) {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompactChunkStorageTest {
+    private static final int BLOCK_STATE_COUNT = 30000;
+
+    @Test
+    public void testMatchesDataPalette() {
+        Random random = new Random(0);
+        DataPalette[] sections = new DataPalette[4];
+        sections[1] = DataPalette.createForBlockState(0, BLOCK_STATE_COUNT);
+        sections[2] = DataPalette.createForBlockState(0, BLOCK_STATE_COUNT);
+        for (int i = 0; i < 200; i++) {
+            sections[2].set(random.nextInt(16), random.nextInt(16), random.nextInt(16), random.nextInt(BLOCK_STATE_COUNT));
+        }
+
+        CompactChunkStorage storage = new CompactChunkStorage(BLOCK_STATE_COUNT);
+        storage.put(0, sections);
+        assertSame(storage, sections);
+
+        // Grow through every palette size, including past the indirect palette limit, and into the empty section
+        for (int i = 0; i < 2000; i++) {
+            int section = random.nextInt(sections.length);
+            int x = random.nextInt(16), y = random.nextInt(16), z = random.nextInt(16);
+            int state = random.nextInt(i < 1000 ? 600 : BLOCK_STATE_COUNT);
+            if (sections[section] == null) {
+                sections[section] = DataPalette.createForBlockState(0, BLOCK_STATE_COUNT);
+            }
+            sections[section].set(x, y, z, state);
+            storage.set(0, section, x, y, z, state);
+        }
+        assertSame(storage, sections);
+
+        storage.remove(0);
+        assertEquals(0, storage.size());
+        assertEquals(0, storage.get(0, 2, 0, 0, 0));
+    }
+
+    private static void assertSame(CompactChunkStorage storage, DataPalette[] sections) {
+        for (int section = 0; section < sections.length; section++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        int expected = sections[section] == null ? 0 : sections[section].get(x, y, z);
+                        assertEquals(expected, storage.get(0, section, x, y, z), "Mismatch at " + section + ": " + x + "," + y + "," + z);
+                    }
+                }
+            }
+        }
+    }
+}
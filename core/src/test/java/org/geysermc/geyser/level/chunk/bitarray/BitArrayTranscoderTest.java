@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk.bitarray;
+
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.util.ChunkUtils;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BitArrayTranscoderTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8, 12, 15, 16})
+    public void testMatchesPerIndexConversion(int bits) {
+        Random random = new Random(bits);
+        BitStorage javaData = new BitStorage(bits, BlockStorage.SIZE);
+        for (int i = 0; i < BlockStorage.SIZE; i++) {
+            javaData.set(i, random.nextInt(1 << bits));
+        }
+
+        BitArrayVersion version = BitArrayVersion.forBitsCeil(bits);
+        BitArray expected = version.createArray(BlockStorage.SIZE);
+        for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+            expected.set(ChunkUtils.indexYZXtoXZY(yzx), javaData.get(yzx));
+        }
+
+        BitArray actual = version.createArray(BlockStorage.SIZE);
+        BitArrayTranscoder.transcode(javaData, actual);
+
+        for (int xzy = 0; xzy < BlockStorage.SIZE; xzy++) {
+            assertEquals(expected.get(xzy), actual.get(xzy), "Mismatch at index " + xzy);
+        }
+    }
+}
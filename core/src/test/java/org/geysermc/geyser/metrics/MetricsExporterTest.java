@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import org.geysermc.geyser.util.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsExporterTest {
+
+    @Test
+    public void testServesOpenMetrics() throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2_000_000);
+
+        MetricsExporter exporter = new MetricsExporter(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), writer -> writer
+            .counter("geyser_test_packets", "Test packets", 42)
+            .gauge("geyser_test_sessions", "Test sessions", "state", Map.of("logged_in", 3))
+            .summary("geyser_test_duration_seconds", "Test durations", histogram));
+        try {
+            URL url = new URL("http://127.0.0.1:" + exporter.address().getPort() + "/metrics");
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("application/openmetrics-text"));
+
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            assertTrue(body.contains("# TYPE geyser_test_packets counter\n"));
+            assertTrue(body.contains("geyser_test_packets_total 42\n"));
+            assertTrue(body.contains("geyser_test_sessions{state=\"logged_in\"} 3\n"));
+            assertTrue(body.contains("geyser_test_duration_seconds_count 1\n"));
+            assertTrue(body.endsWith("# EOF\n"));
+        } finally {
+            exporter.stop();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.buffer.Unpooled;
+import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.BatchCompression;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveCompressionStrategyTest {
+    private static final int THRESHOLD = 256;
+
+    @Test
+    public void testBelowThresholdIsUncompressed() {
+        AdaptiveCompressionStrategy strategy = new AdaptiveCompressionStrategy(PacketCompressionAlgorithm.ZLIB, THRESHOLD, 6);
+        assertEquals(PacketCompressionAlgorithm.NONE, compressionFor(strategy, THRESHOLD - 1).getAlgorithm());
+
+        BatchCompression compression = compressionFor(strategy, THRESHOLD);
+        assertEquals(PacketCompressionAlgorithm.ZLIB, compression.getAlgorithm());
+        assertEquals(6, compression.getLevel());
+    }
+
+    @Test
+    public void testSnappy() {
+        AdaptiveCompressionStrategy strategy = new AdaptiveCompressionStrategy(PacketCompressionAlgorithm.SNAPPY, THRESHOLD, 6);
+        assertEquals(PacketCompressionAlgorithm.NONE, compressionFor(strategy, THRESHOLD - 1).getAlgorithm());
+        assertEquals(PacketCompressionAlgorithm.SNAPPY, compressionFor(strategy, THRESHOLD).getAlgorithm());
+        assertEquals(PacketCompressionAlgorithm.SNAPPY, compressionFor(strategy, 128 * 1024).getAlgorithm());
+
+        // Clients may still compress with zlib
+        assertEquals(PacketCompressionAlgorithm.ZLIB, strategy.getCompression(PacketCompressionAlgorithm.ZLIB).getAlgorithm());
+    }
+
+    @Test
+    public void testConfiguredLevelIsKeptBelowOne() {
+        AdaptiveCompressionStrategy disabled = new AdaptiveCompressionStrategy(PacketCompressionAlgorithm.ZLIB, THRESHOLD, 0);
+        assertEquals(0, compressionFor(disabled, 1024).getLevel());
+        assertEquals(0, compressionFor(disabled, 128 * 1024).getLevel());
+
+        // -1 is zlib's default level
+        AdaptiveCompressionStrategy defaultLevel = new AdaptiveCompressionStrategy(PacketCompressionAlgorithm.ZLIB, THRESHOLD, -1);
+        assertEquals(6, compressionFor(defaultLevel, 128 * 1024).getLevel());
+    }
+
+    @Test
+    public void testConfiguredLevelIsCappedAtNine() {
+        AdaptiveCompressionStrategy strategy = new AdaptiveCompressionStrategy(PacketCompressionAlgorithm.ZLIB, THRESHOLD, 12);
+        assertEquals(9, strategy.getDefaultCompression().getLevel());
+        assertEquals(9, compressionFor(strategy, 1024).getLevel());
+    }
+
+    @Test
+    public void testLargeBatchesUseHigherLevel() {
+        AdaptiveCompressionStrategy strategy = new AdaptiveCompressionStrategy(PacketCompressionAlgorithm.ZLIB, THRESHOLD, 6);
+        // Nothing has been compressed on this thread yet, so it isn't busy
+        assertEquals(6, compressionFor(strategy, 64 * 1024 - 1).getLevel());
+        assertEquals(7, compressionFor(strategy, 64 * 1024).getLevel());
+
+        AdaptiveCompressionStrategy highest = new AdaptiveCompressionStrategy(PacketCompressionAlgorithm.ZLIB, THRESHOLD, 9);
+        assertEquals(9, compressionFor(highest, 128 * 1024).getLevel());
+    }
+
+    private static BatchCompression compressionFor(AdaptiveCompressionStrategy strategy, int size) {
+        BedrockBatchWrapper wrapper = mock(BedrockBatchWrapper.class);
+        when(wrapper.getUncompressed()).thenReturn(Unpooled.wrappedBuffer(new byte[size]));
+        return strategy.getCompression(wrapper);
+    }
+}
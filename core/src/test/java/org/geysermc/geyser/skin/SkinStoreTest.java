@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class SkinStoreTest {
+
+    @Test
+    public void testPersistsAndCompacts(@TempDir Path folder) {
+        Path path = folder.resolve("skins.dat");
+        byte[] first = new byte[64 * 64 * 4];
+        byte[] second = new byte[64 * 32 * 4];
+        first[17] = 1;
+        second[3] = 2;
+
+        SkinStore store = new SkinStore(0, path);
+        store.put("skin:first", first);
+        store.put("cape:second", second);
+        store.close();
+
+        store = new SkinStore(0, path);
+        assertEquals(2, store.size());
+        assertArrayEquals(first, store.get("skin:first"));
+        assertArrayEquals(second, store.get("cape:second"));
+
+        // Both were used before now, so both expire
+        assertEquals(2, store.compact(System.currentTimeMillis() + 1));
+        assertNull(store.get("skin:first"));
+        store.put("skin:first", first);
+        store.close();
+
+        store = new SkinStore(0, path);
+        assertEquals(1, store.size());
+        assertArrayEquals(first, store.get("skin:first"));
+        store.close();
+    }
+
+    @Test
+    public void testUseKeepsTexturesFromExpiring(@TempDir Path folder) throws InterruptedException {
+        Path path = folder.resolve("skins.dat");
+        byte[] skin = new byte[64 * 64 * 4];
+
+        // Write every use to the file right away
+        SkinStore store = new SkinStore(1, path, 0);
+        store.put("skin:used", skin);
+        store.put("skin:unused", skin);
+        Thread.sleep(5);
+        long usedBefore = System.currentTimeMillis();
+        Thread.sleep(5);
+
+        // Served from memory, which still counts as a use
+        assertArrayEquals(skin, store.get("skin:used"));
+        store.close();
+
+        store = new SkinStore(0, path, 0);
+        assertEquals(1, store.compact(usedBefore));
+        assertArrayEquals(skin, store.get("skin:used"));
+        assertNull(store.get("skin:unused"));
+        store.close();
+    }
+
+    @Test
+    public void testGetDuringCompactNeverReturnsOtherTextures(@TempDir Path folder) throws InterruptedException {
+        Path path = folder.resolve("skins.dat");
+        int textures = 16;
+        byte[][] data = new byte[textures][];
+        for (int i = 0; i < textures; i++) {
+            // Different lengths, so compacting moves every record
+            data[i] = new byte[1024 + i * 64];
+            Arrays.fill(data[i], (byte) i);
+        }
+
+        SkinStore store = new SkinStore(0, path);
+        for (int i = 0; i < textures; i++) {
+            store.put("skin:" + i, data[i]);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                for (int i = 0; i < textures; i++) {
+                    byte[] read = store.get("skin:" + i);
+                    if (read != null && !Arrays.equals(data[i], read)) {
+                        failure.set("skin:" + i + " returned the data of another texture");
+                        running.set(false);
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        for (int round = 0; round < 200 && running.get(); round++) {
+            // Empty the file, then add every texture back in a different order, so each lands somewhere else
+            store.compact(System.currentTimeMillis() + 1);
+            for (int i = 0; i < textures; i++) {
+                int texture = round % 2 == 0 ? i : textures - 1 - i;
+                store.put("skin:" + texture, data[texture]);
+            }
+        }
+        running.set(false);
+        reader.join();
+        store.close();
+
+        if (failure.get() != null) {
+            fail(failure.get());
+        }
+    }
+}